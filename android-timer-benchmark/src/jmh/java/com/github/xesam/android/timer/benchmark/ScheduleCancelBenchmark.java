@@ -0,0 +1,132 @@
+package com.github.xesam.android.timer.benchmark;
+
+import com.github.xesam.android.timer.AndroidTimer;
+import com.github.xesam.android.timer.ExecutorTickScheduler;
+import com.github.xesam.android.timer.TickScheduler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 在真实调度线程上布置 count 个远期任务再全部取消，对比各调度原语的布置/取消成本与扩展性。
+ * kotlinx {@code delay()} 的对照见 {@link CoroutineDelayBenchmark}。
+ * <p>
+ * android.os.CountDownTimer 依赖 Looper，无法在普通 JVM 上运行，不在对照之列。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScheduleCancelBenchmark {
+    private static final long FAR_FUTURE_MILLIS = 60_000L;
+    private static final Runnable NOOP = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    @Param({"1", "100", "10000", "100000"})
+    public int count;
+
+    private ScheduledThreadPoolExecutor mExecutor;
+    private ScheduledThreadPoolExecutor mTimerExecutor;
+    private Timer mJavaTimer;
+    private AndroidTimer[] mTimers;
+    private TickScheduler.Entry[] mEntries;
+    private ScheduledFuture<?>[] mFutures;
+    private TimerTask[] mTasks;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mExecutor = newExecutor();
+        mTimerExecutor = newExecutor();
+        mJavaTimer = new Timer("benchmark-timer", true);
+        ExecutorTickScheduler scheduler = new ExecutorTickScheduler(mTimerExecutor);
+        AndroidTimer.Option option = new AndroidTimer.Option(false, scheduler);
+        mTimers = new AndroidTimer[count];
+        mEntries = new TickScheduler.Entry[count];
+        for (int i = 0; i < count; i++) {
+            mTimers[i] = new AndroidTimer(FAR_FUTURE_MILLIS, option);
+            mEntries[i] = scheduler.newEntry(NOOP);
+        }
+        mFutures = new ScheduledFuture<?>[count];
+        mTasks = new TimerTask[count];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mExecutor.shutdownNow();
+        mTimerExecutor.shutdownNow();
+        mJavaTimer.cancel();
+    }
+
+    private static ScheduledThreadPoolExecutor newExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        // 与 ExecutorTickScheduler.getDefault() 相同：取消即移出队列
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    @Benchmark
+    public void androidTimer() {
+        for (AndroidTimer timer : mTimers) {
+            timer.start();
+        }
+        for (AndroidTimer timer : mTimers) {
+            timer.cancel();
+        }
+    }
+
+    @Benchmark
+    public void executorTickScheduler() {
+        for (TickScheduler.Entry entry : mEntries) {
+            entry.schedule(FAR_FUTURE_MILLIS);
+        }
+        for (TickScheduler.Entry entry : mEntries) {
+            entry.cancel();
+        }
+    }
+
+    @Benchmark
+    public void scheduledThreadPoolExecutor() {
+        for (int i = 0; i < count; i++) {
+            mFutures[i] = mExecutor.schedule(NOOP, FAR_FUTURE_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        for (int i = 0; i < count; i++) {
+            mFutures[i].cancel(false);
+            mFutures[i] = null;
+        }
+    }
+
+    @Benchmark
+    public void javaUtilTimer() {
+        // TimerTask 不能重复调度，每次都要新建
+        for (int i = 0; i < count; i++) {
+            mTasks[i] = new TimerTask() {
+                @Override
+                public void run() {
+                }
+            };
+            mJavaTimer.schedule(mTasks[i], FAR_FUTURE_MILLIS);
+        }
+        for (int i = 0; i < count; i++) {
+            mTasks[i].cancel();
+            mTasks[i] = null;
+        }
+        // 已取消的任务留在队列里直到 purge，否则队列持续增长
+        mJavaTimer.purge();
+    }
+}
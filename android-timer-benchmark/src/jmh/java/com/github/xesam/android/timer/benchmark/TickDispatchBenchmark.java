@@ -0,0 +1,82 @@
+package com.github.xesam.android.timer.benchmark;
+
+import com.github.xesam.android.timer.AndroidTimer;
+import com.github.xesam.android.timer.TickListener;
+import com.github.xesam.android.timer.VirtualTimeSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * tick 派发开销随并发计时器数量的变化：每次操作把虚拟时钟推进一个间隔，timerCount 个计时器各触发一次 onTick。
+ * 单次 tick 的耗时与分配量等于结果除以 timerCount。
+ * <p>
+ * listenerCount 为每个计时器额外注册的 TickListener 个数，用于确认监听器派发不增加分配。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TickDispatchBenchmark {
+    private static final long INTERVAL = 16L;
+
+    @Param({"1", "100", "10000", "100000"})
+    public int timerCount;
+
+    @Param({"0", "3"})
+    public int listenerCount;
+
+    private VirtualTimeSource mClock;
+    private AndroidTimer[] mTimers;
+    private long mTickSum;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        mClock = new VirtualTimeSource();
+        AndroidTimer.Option option = new AndroidTimer.Option.Builder()
+                .setTimeSource(mClock)
+                .setScheduler(mClock)
+                .build();
+        TickListener listener = new TickListener() {
+            @Override
+            public void onTick(long millis) {
+                mTickSum += millis;
+            }
+        };
+        mTimers = new AndroidTimer[timerCount];
+        for (int i = 0; i < timerCount; i++) {
+            mTimers[i] = new AndroidTimer(INTERVAL, option) {
+                @Override
+                protected void onTick(long millisFly) {
+                    mTickSum += millisFly;
+                }
+            };
+            for (int j = 0; j < listenerCount; j++) {
+                mTimers[i].addTickListener(listener);
+            }
+            mTimers[i].start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (AndroidTimer timer : mTimers) {
+            timer.cancel();
+        }
+    }
+
+    @Benchmark
+    public long advanceOneInterval() {
+        mClock.advance(INTERVAL, TimeUnit.MILLISECONDS);
+        return mTickSum;
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.xesam.android.timer.benchmark;
+
+import com.github.xesam.android.timer.AndroidTick;
+import com.github.xesam.android.timer.AndroidTimer;
+import com.github.xesam.android.timer.CountDownTimer;
+import com.github.xesam.android.timer.ThreadConfinement;
+import com.github.xesam.android.timer.VirtualTimeSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * start/pause/resume/cancel 的单次开销。虚拟时钟同时充当时间源和调度器，测到的是状态机与调度入队/出队本身的成本，
+ * 不包含线程切换。
+ * <p>
+ * threadConfinement 对比默认的 CAS 状态机（NONE）与限定线程的普通字段状态机（CONFINED）。
+ * Thread 作用域的 State 在基准线程上 Setup，计时器即限定在该线程。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimerLifecycleBenchmark {
+    @Param({"NONE", "CONFINED"})
+    public String threadConfinement;
+
+    private AndroidTimer mIdleTimer;
+    private AndroidTimer mRunningTimer;
+    private CountDownTimer mIdleCountDown;
+    private CountDownTimer mRunningCountDown;
+    private AndroidTick mTick;
+
+    @Setup
+    public void setup() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        int confinement = "CONFINED".equals(threadConfinement) ? ThreadConfinement.CONFINED : ThreadConfinement.NONE;
+        AndroidTimer.Option timerOption = new AndroidTimer.Option.Builder()
+                .setTimeSource(clock)
+                .setScheduler(clock)
+                .setThreadConfinement(confinement)
+                .build();
+        CountDownTimer.Option countDownOption = new CountDownTimer.Option.Builder()
+                .setTimeSource(clock)
+                .setScheduler(clock)
+                .setThreadConfinement(confinement)
+                .build();
+        mIdleTimer = new AndroidTimer(1000L, timerOption);
+        mRunningTimer = new AndroidTimer(1000L, timerOption);
+        mRunningTimer.start();
+        mIdleCountDown = new CountDownTimer(60_000L, 1000L, countDownOption);
+        mRunningCountDown = new CountDownTimer(60_000L, 1000L, countDownOption);
+        mRunningCountDown.start();
+        mTick = new AndroidTick(1000L, clock);
+    }
+
+    @Benchmark
+    public void androidTimerStartCancel() {
+        mIdleTimer.start();
+        mIdleTimer.cancel();
+    }
+
+    @Benchmark
+    public void androidTimerPauseResume() {
+        mRunningTimer.pause();
+        mRunningTimer.resume();
+    }
+
+    @Benchmark
+    public void countDownTimerStartCancel() {
+        mIdleCountDown.start();
+        mIdleCountDown.cancel();
+    }
+
+    @Benchmark
+    public void countDownTimerPauseResume() {
+        mRunningCountDown.pause();
+        mRunningCountDown.resume();
+    }
+
+    @Benchmark
+    public void androidTickTickCancel() {
+        mTick.tick();
+        mTick.cancel();
+    }
+}
@@ -0,0 +1,65 @@
+package com.github.xesam.android.timer.benchmark
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import java.util.concurrent.TimeUnit
+
+/**
+ * [ScheduleCancelBenchmark] 的 kotlinx 对照：启动 count 个挂起在远期 delay() 上的协程再全部取消。
+ * UNDISPATCHED 让 delay 在调用线程上同步登记，测到的是登记与取消本身，而不是协程派发。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class CoroutineDelayBenchmark {
+
+    @Param("1", "100", "10000", "100000")
+    var count: Int = 0
+
+    private lateinit var scope: CoroutineScope
+    private lateinit var jobs: Array<Job?>
+
+    @Setup(Level.Trial)
+    fun setup() {
+        scope = CoroutineScope(SupervisorJob() + Dispatchers.Default)
+        jobs = arrayOfNulls(count)
+    }
+
+    @TearDown(Level.Trial)
+    fun tearDown() {
+        scope.cancel()
+    }
+
+    @Benchmark
+    fun kotlinxDelay() {
+        for (i in 0 until count) {
+            jobs[i] = scope.launch(start = CoroutineStart.UNDISPATCHED) {
+                delay(FAR_FUTURE_MILLIS)
+            }
+        }
+        for (i in 0 until count) {
+            jobs[i]?.cancel()
+            jobs[i] = null
+        }
+    }
+
+    private companion object {
+        const val FAR_FUTURE_MILLIS = 60_000L
+    }
+}
@@ -1,27 +1,34 @@
 package com.github.xesam.android.timer;
 
-import android.os.Handler;
+import androidx.annotation.NonNull;
 
 public class AndroidTick {
     private volatile boolean mIsRunning = false;
     private int mCount = 0;
     private final long mMillisDelay;
+    private final TickScheduler.Entry mTickEntry;
 
     public AndroidTick(long millisDelay) {
+        this(millisDelay, TimerPlatform.get().defaultScheduler());
+    }
+
+    /**
+     * @param scheduler tick 调度后端，例如 Android 上的 {@code SharedTickScheduler.getMain()}
+     */
+    public AndroidTick(long millisDelay, @NonNull TickScheduler scheduler) {
         if (millisDelay <= 0) {
             throw new IllegalArgumentException("延迟时间必须大于0");
         }
         this.mMillisDelay = millisDelay;
+        this.mTickEntry = scheduler.newEntry(this::handleTick);
     }
 
-    private static final int MSG = 1;
-
-    private final Handler mHandler = new Handler(msg -> {
+    private void handleTick() {
         int snapshot;
         boolean fire;
-        synchronized (AndroidTick.this) {
+        synchronized (this) {
             if (!mIsRunning) {
-                return true;
+                return;
             }
             mIsRunning = false;
             mCount++;
@@ -30,10 +37,9 @@ public class AndroidTick {
         }
         // 回调在锁外派发，避免用户回调重入时引发状态惊奇
         if (fire) {
-            onTick(AndroidTick.this, snapshot);
+            onTick(this, snapshot);
         }
-        return true;
-    });
+    }
 
     public final synchronized void tick() {
         this.tick(false);
@@ -47,13 +53,14 @@ public class AndroidTick {
                 return;
             }
         }
+        // 先调度再置位：没有 Looper 等原因调度失败时保持未运行状态
+        mTickEntry.schedule(mMillisDelay);
         mIsRunning = true;
-        mHandler.sendEmptyMessageDelayed(MSG, mMillisDelay);
     }
 
     public final synchronized void cancel() {
         mIsRunning = false;
-        mHandler.removeMessages(MSG);
+        mTickEntry.cancel();
     }
 
     public final boolean isRunning() {
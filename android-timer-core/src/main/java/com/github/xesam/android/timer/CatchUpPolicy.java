@@ -0,0 +1,36 @@
+package com.github.xesam.android.timer;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.LOCAL_VARIABLE;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.PARAMETER;
+
+import androidx.annotation.IntDef;
+
+import java.lang.annotation.Target;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * 调度线程阻塞导致错过若干个 tick 时间点后的追赶策略。错过的个数按时间差直接计算，与阻塞时长无关。
+ */
+public final class CatchUpPolicy {
+    @Retention(RetentionPolicy.SOURCE)
+    @Target({METHOD, PARAMETER, FIELD, LOCAL_VARIABLE})
+    @IntDef({SKIP, BURST, COALESCE})
+    public @interface Enum {
+    }
+
+    /**
+     * 丢弃错过的时间点，从下一个未来的时间点继续（默认）。丢弃的个数通过 onMissedTicks 通知。
+     */
+    public static final int SKIP = 0;
+    /**
+     * 不丢弃：错过的时间点逐个立即补发，每次派发一个，不会在一次消息中阻塞调度线程。
+     */
+    public static final int BURST = 1;
+    /**
+     * 错过的时间点合并为一次立即触发的 tick，合并掉的个数先通过 onMissedTicks 通知。
+     */
+    public static final int COALESCE = 2;
+}
@@ -0,0 +1,925 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class CountDownTimer {
+    public static final class Option {
+        static final Option DEFAULT = new Option();
+        private final boolean tickWhenStart;
+        private final boolean tickWhenFinish;
+        @Nullable
+        private final TickScheduler scheduler;
+        @Nullable
+        private final TimeSource timeSource;
+        private final boolean statsEnabled;
+        @CatchUpPolicy.Enum
+        private final int catchUpPolicy;
+        private final boolean fixedDelay;
+        @ThreadConfinement.Enum
+        private final int threadConfinement;
+        private final long toleranceNanos;
+        private final boolean asynchronous;
+
+        public Option() {
+            this(false, false);
+        }
+
+        public Option(boolean tickWhenStart, boolean tickWhenFinish) {
+            this(tickWhenStart, tickWhenFinish, null);
+        }
+
+        /**
+         * @param scheduler tick 调度后端，传 null 时使用平台默认调度器（Android 上每个计时器使用自己的 Handler，绑定构造线程的 Looper）
+         */
+        public Option(boolean tickWhenStart, boolean tickWhenFinish, @Nullable TickScheduler scheduler) {
+            this.tickWhenStart = tickWhenStart;
+            this.tickWhenFinish = tickWhenFinish;
+            this.scheduler = scheduler;
+            this.timeSource = null;
+            this.statsEnabled = false;
+            this.catchUpPolicy = CatchUpPolicy.SKIP;
+            this.fixedDelay = false;
+            this.threadConfinement = ThreadConfinement.NONE;
+            this.toleranceNanos = 0;
+            this.asynchronous = false;
+        }
+
+        private Option(Builder builder) {
+            this.tickWhenStart = builder.tickWhenStart;
+            this.tickWhenFinish = builder.tickWhenFinish;
+            this.scheduler = builder.scheduler;
+            this.timeSource = builder.timeSource;
+            this.statsEnabled = builder.statsEnabled;
+            this.catchUpPolicy = builder.catchUpPolicy;
+            this.fixedDelay = builder.fixedDelay;
+            this.threadConfinement = builder.threadConfinement;
+            this.toleranceNanos = builder.toleranceNanos;
+            this.asynchronous = builder.asynchronous;
+        }
+
+        /**
+         * @return tick 调度后端，null 表示平台默认调度器
+         */
+        @Nullable
+        public TickScheduler getScheduler() {
+            return scheduler;
+        }
+
+        /**
+         * @return 时间源，null 表示平台默认时间源
+         */
+        @Nullable
+        public TimeSource getTimeSource() {
+            return timeSource;
+        }
+
+        /**
+         * @return 平台默认调度器是否使用异步消息
+         */
+        public boolean isAsynchronous() {
+            return asynchronous;
+        }
+
+        public static final class Builder {
+            private boolean tickWhenStart = false;
+            private boolean tickWhenFinish = false;
+            @Nullable
+            private TickScheduler scheduler;
+            @Nullable
+            private TimeSource timeSource;
+            private boolean statsEnabled = false;
+            @CatchUpPolicy.Enum
+            private int catchUpPolicy = CatchUpPolicy.SKIP;
+            private boolean fixedDelay = false;
+            @ThreadConfinement.Enum
+            private int threadConfinement = ThreadConfinement.NONE;
+            private long toleranceNanos = 0;
+            private boolean asynchronous = false;
+
+            public Builder() {
+            }
+
+            /**
+             * 以已有配置为基础构建，只修改个别选项
+             */
+            public Builder(@NonNull Option option) {
+                this.tickWhenStart = option.tickWhenStart;
+                this.tickWhenFinish = option.tickWhenFinish;
+                this.scheduler = option.scheduler;
+                this.timeSource = option.timeSource;
+                this.statsEnabled = option.statsEnabled;
+                this.catchUpPolicy = option.catchUpPolicy;
+                this.fixedDelay = option.fixedDelay;
+                this.threadConfinement = option.threadConfinement;
+                this.toleranceNanos = option.toleranceNanos;
+                this.asynchronous = option.asynchronous;
+            }
+
+            /**
+             * 启动时是否立即触发一次 onTick
+             */
+            @NonNull
+            public Builder setTickWhenStart(boolean tickWhenStart) {
+                this.tickWhenStart = tickWhenStart;
+                return this;
+            }
+
+            /**
+             * 完成时是否触发一次 onTick(0)
+             */
+            @NonNull
+            public Builder setTickWhenFinish(boolean tickWhenFinish) {
+                this.tickWhenFinish = tickWhenFinish;
+                return this;
+            }
+
+            /**
+             * tick 调度后端，null 表示平台默认调度器（Android 上每个计时器使用自己的 Handler，绑定构造线程的 Looper）
+             */
+            @NonNull
+            public Builder setScheduler(@Nullable TickScheduler scheduler) {
+                this.scheduler = scheduler;
+                return this;
+            }
+
+            /**
+             * 加入计时器组：以组时钟计时并由组调度，等价于同时 setTimeSource(group) 与 setScheduler(group)
+             */
+            @NonNull
+            public Builder setGroup(@NonNull TimerGroup group) {
+                this.scheduler = group;
+                this.timeSource = group;
+                return this;
+            }
+
+            /**
+             * 时间源，null 表示平台默认时间源（Android 上为 {@code SystemClockTimeSource.ELAPSED_REALTIME}）
+             */
+            @NonNull
+            public Builder setTimeSource(@Nullable TimeSource timeSource) {
+                this.timeSource = timeSource;
+                return this;
+            }
+
+            /**
+             * 是否记录派发延迟、回调耗时等统计，通过 getStats() 读取。每个计时器约占用 1.5KB 直方图内存
+             */
+            @NonNull
+            public Builder setStatsEnabled(boolean statsEnabled) {
+                this.statsEnabled = statsEnabled;
+                return this;
+            }
+
+            /**
+             * 错过 tick 时间点后的追赶策略，默认 {@link CatchUpPolicy#SKIP}；固定延迟模式下不会错过时间点
+             */
+            @NonNull
+            public Builder setCatchUpPolicy(@CatchUpPolicy.Enum int catchUpPolicy) {
+                this.catchUpPolicy = catchUpPolicy;
+                return this;
+            }
+
+            /**
+             * 固定延迟模式：下一次 tick 在上一次 onTick 返回后间隔 interval 触发，而不是对齐启动时刻的固定频率
+             */
+            @NonNull
+            public Builder setFixedDelay(boolean fixedDelay) {
+                this.fixedDelay = fixedDelay;
+                return this;
+            }
+
+            /**
+             * 线程模型，默认 {@link ThreadConfinement#NONE}。只在一个线程上使用的计时器可限定线程，省去 CAS 与跨线程重新调度的开销
+             */
+            @NonNull
+            public Builder setThreadConfinement(@ThreadConfinement.Enum int threadConfinement) {
+                this.threadConfinement = threadConfinement;
+                return this;
+            }
+
+            /**
+             * 唤醒容差：每次 tick 允许推迟的最长时间，支持容差的调度器（SharedTickScheduler、TimerGroup）
+             * 会在窗口内与其他计时器合并唤醒。tick 时间点仍以启动时刻为基准，推迟不会累积漂移。默认 0，应小于间隔
+             */
+            @NonNull
+            public Builder setTolerance(long tolerance, @NonNull TimeUnit unit) {
+                if (tolerance < 0) {
+                    throw new IllegalArgumentException("容差不能为负数");
+                }
+                this.toleranceNanos = unit.toNanos(tolerance);
+                return this;
+            }
+
+            /**
+             * 使用异步消息调度 tick，不受同步屏障（布局、绘制期间）阻塞。只作用于平台默认调度器，
+             * 指定了调度器时由调度器自身决定，例如 {@code HandlerTickScheduler.currentThreadAsync()}
+             */
+            @NonNull
+            public Builder setAsynchronous(boolean asynchronous) {
+                this.asynchronous = asynchronous;
+                return this;
+            }
+
+            @NonNull
+            public Option build() {
+                return new Option(this);
+            }
+        }
+    }
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    /**
+     * 调度器只有毫秒精度：Handler 按截断到毫秒的 uptime 计算触发时刻，到达时可能比纳秒截止时间早不到 1ms。
+     * 距截止时间不足该窗口的 tick 视为已经到期，按截止时刻派发，不再为这一点差距重新调度一次。
+     */
+    private static final long DUE_WINDOW_NANOS = NANOS_PER_MILLI;
+
+    /**
+     * 倒计时状态的不可变快照。所有迁移都通过 CAS 整体替换，控制方法与 tick 派发都不会阻塞。
+     * 时间均为 TimeSource 上的纳秒读数。
+     */
+    private static final class State {
+        static final State IDLE = new State(TimerStatus.IDLE, -1, -1, 0, 0, 0, 0);
+
+        @TimerStatus.Enum
+        final int status;
+        final long startedNanos;
+        final long pausedNanos;
+        final long pausedTotalNanos;
+        final long nextTickTime; // 下一次派发的预定时间（绝对时间基准）
+        final long finishTimeInFuture; // addTime/setDeadline 就地修改
+        final long intervalNanos; // 本次运行的间隔，setInterval 与时间点一起替换
+
+        State(@TimerStatus.Enum int status, long startedNanos, long pausedNanos, long pausedTotalNanos,
+              long nextTickTime, long finishTimeInFuture, long intervalNanos) {
+            this.status = status;
+            this.startedNanos = startedNanos;
+            this.pausedNanos = pausedNanos;
+            this.pausedTotalNanos = pausedTotalNanos;
+            this.nextTickTime = nextTickTime;
+            this.finishTimeInFuture = finishTimeInFuture;
+            this.intervalNanos = intervalNanos;
+        }
+
+        State withNextTickTime(long nextTickTime) {
+            return new State(status, startedNanos, pausedNanos, pausedTotalNanos, nextTickTime, finishTimeInFuture,
+                    intervalNanos);
+        }
+
+        State withTiming(long nextTickTime, long finishTimeInFuture, long intervalNanos) {
+            return new State(status, startedNanos, pausedNanos, pausedTotalNanos, nextTickTime, finishTimeInFuture,
+                    intervalNanos);
+        }
+    }
+
+    // 之后 start 使用的时长与间隔，由 reset/setInterval 修改，volatile 保证在其他线程上 start 时可见
+    private volatile long mFutureDurationNanos;
+    private volatile long mIntervalNanos;
+    private final Option mOption;
+    private final TimeSource mTimeSource;
+    private final StateRef<State> mState;
+    // 限定线程时修改与 tick 都在同一个线程上，直接重新调度，不使用 mRetimePending 与 mDispatchThread
+    private final boolean mConfined;
+    private final TickScheduler.Entry mTickEntry;
+    private final long mToleranceMillis;
+    // 就地修改时间后已投递、尚未被 handleTick 消费的立即触发
+    private final AtomicBoolean mRetimePending = new AtomicBoolean();
+    // 最近一次派发 tick 的线程，只与当前线程比较，读到旧值也只影响走哪条重新调度路径
+    @Nullable
+    private Thread mDispatchThread;
+    private final TimerListeners mListeners = new TimerListeners();
+    @Nullable
+    private final TickStats mStats;
+
+    public CountDownTimer(long millisDuration, long interval) {
+        this(millisDuration, interval, Option.DEFAULT);
+    }
+
+    public CountDownTimer(long millisDuration, long interval, Option option) {
+        this(millisDuration, interval, TimeUnit.MILLISECONDS, option);
+    }
+
+    public CountDownTimer(long duration, long interval, @NonNull TimeUnit unit) {
+        this(duration, interval, unit, Option.DEFAULT);
+    }
+
+    public CountDownTimer(long duration, long interval, @NonNull TimeUnit unit, Option option) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("倒计时时长必须大于0");
+        }
+        if (interval <= 0) {
+            throw new IllegalArgumentException("间隔时间必须大于0");
+        }
+        mFutureDurationNanos = unit.toNanos(duration);
+        mIntervalNanos = unit.toNanos(interval);
+        mOption = option;
+        mTimeSource = option.timeSource != null ? option.timeSource : TimerPlatform.get().defaultTimeSource();
+        TickScheduler scheduler = option.scheduler != null ? option.scheduler : TimerPlatform.get().defaultScheduler(option.asynchronous);
+        mStats = option.statsEnabled ? new TickStats() : null;
+        mToleranceMillis = option.toleranceNanos / NANOS_PER_MILLI;
+        mTickEntry = scheduler.newEntry(new Runnable() {
+            @Override
+            public void run() {
+                handleTick();
+            }
+        });
+        mState = StateRef.create(option.threadConfinement, State.IDLE, mTickEntry);
+        mConfined = mState.isConfined();
+    }
+
+    @RequiresApi(26)
+    public CountDownTimer(@NonNull Duration duration, @NonNull Duration interval) {
+        this(duration, interval, Option.DEFAULT);
+    }
+
+    @RequiresApi(26)
+    public CountDownTimer(@NonNull Duration duration, @NonNull Duration interval, Option option) {
+        this(duration.toNanos(), interval.toNanos(), TimeUnit.NANOSECONDS, option);
+    }
+
+    private void handleTick() {
+        if (!mConfined) {
+            mDispatchThread = Thread.currentThread();
+            // 先消费标志位再读状态，之后的修改会重新投递
+            mRetimePending.set(false);
+        }
+        final State state = mState.get();
+        if (state.status != TimerStatus.RUNNING) {
+            return;
+        }
+        final long arrived = now();
+        if (state.nextTickTime - arrived >= DUE_WINDOW_NANOS) {
+            // 并发迁移时被旧的调度覆盖，按当前状态重新调度
+            syncSchedule(state);
+            return;
+        }
+        // 到期窗口内提前到达的 tick 也按到期派发；截止时间只用于推进 nextTickTime 与判断是否结束，回调与统计使用实际读数
+        if (state.finishTimeInFuture <= Math.max(arrived, state.nextTickTime)) {
+            // 结束路径：仅由 tickWhenFinish 决定是否触发最终 onTick(0)
+            if (mState.compareAndSet(state, State.IDLE)) {
+                recordLateness(arrived, state);
+                syncSchedule(State.IDLE);
+                dispatchFinish();
+            }
+            return;
+        }
+        // 先认领本次 tick：状态已被其他线程替换或本次 tick 已被派发时 CAS 失败
+        final State claimed = state.withNextTickTime(state.nextTickTime + state.intervalNanos);
+        if (!mState.compareAndSet(state, claimed)) {
+            return;
+        }
+        recordLateness(arrived, state);
+        final long nanosLeft = state.finishTimeInFuture - arrived;
+        onTickNanos(nanosLeft);
+        mListeners.dispatchTick(nanosLeft);
+        final long end = now();
+        if (mStats != null) {
+            mStats.recordCallback(end - arrived);
+        }
+
+        // onTick 后决定下一次调度（可能直接结束）；用户回调已 pause/cancel 时 CAS 失败，由对应的迁移负责调度
+        final long interval = claimed.intervalNanos;
+        long next = claimed.nextTickTime;
+        long caughtUp;
+        State update;
+        if (claimed.finishTimeInFuture - end < interval) {
+            // 剩余时间不足一个间隔，直接在结束时刻派发
+            next = claimed.finishTimeInFuture;
+            caughtUp = next;
+            update = claimed.withNextTickTime(next);
+        } else {
+            if (mOption.fixedDelay) {
+                next = end + interval;
+            }
+            caughtUp = catchUp(next, end, interval);
+            update = caughtUp > claimed.finishTimeInFuture ? State.IDLE : claimed.withNextTickTime(caughtUp);
+        }
+        if (mState.compareAndSet(claimed, update)) {
+            syncSchedule(update);
+            dispatchMissed(next, caughtUp, interval);
+            if (update == State.IDLE) {
+                dispatchFinish();
+            }
+        }
+    }
+
+    /**
+     * 提前到达时差值为负，按 0 计入。
+     */
+    private void recordLateness(long now, State state) {
+        if (mStats != null) {
+            mStats.recordLateness(now - state.nextTickTime);
+        }
+    }
+
+    private void dispatchFinish() {
+        if (mOption.tickWhenFinish) {
+            onTickNanos(0);
+            mListeners.dispatchTick(0);
+        }
+        onFinish(0);
+        mListeners.dispatchState(TimerEvent.FINISH, 0);
+    }
+
+    private long now() {
+        return mTimeSource.nanoTime();
+    }
+
+    /**
+     * 调度器只有毫秒精度，延迟向上取整；Handler 的 uptime 截断仍可能让 tick 提前不到 1ms 到达，由 handleTick 的到期窗口吸收。
+     * 截止时间本身保持纳秒，不会累积漂移。
+     */
+    private static long toDelayMillis(long delayNanos) {
+        return (Math.max(0, delayNanos) + NANOS_PER_MILLI - 1) / NANOS_PER_MILLI;
+    }
+
+    /**
+     * 让调度与已发布的状态保持一致。执行调度动作后再次确认状态没有被其他线程替换，否则按最新状态重做，
+     * 保证最后一次生效的调度动作总是对应最新的状态。有未消费的立即触发时保留它，由 handleTick 按最新状态调度。
+     */
+    private void syncSchedule(State published) {
+        if (mConfined) {
+            // 限定线程时状态不会被其他线程替换，也没有投递中的立即触发，调度一次即可
+            schedule(published, false);
+            return;
+        }
+        State state = published;
+        while (true) {
+            final boolean pending = mRetimePending.get();
+            schedule(state, pending);
+            State current = mState.get();
+            if (current == state && mRetimePending.get() == pending) {
+                return;
+            }
+            state = current;
+        }
+    }
+
+    private void schedule(State state, boolean pending) {
+        if (state.status == TimerStatus.RUNNING) {
+            mTickEntry.schedule(pending ? 0 : toDelayMillis(state.nextTickTime - now()), mToleranceMillis);
+        } else {
+            mTickEntry.cancel();
+        }
+    }
+
+    /**
+     * 就地修改时间后的重新调度。在派发 tick 的线程上直接按新状态重新调度；
+     * 其他线程上不直接调度，而是投递一次立即触发，由 handleTick 按届时的最新状态调度（已到结束时刻则直接结束），
+     * 标志位被消费前不再投递，其他线程同一个 Looper 周期内的多次修改因此只重新调度一次。
+     */
+    private void requestReschedule(State update) {
+        if (update.status != TimerStatus.RUNNING) {
+            return;
+        }
+        if (mConfined || mDispatchThread == Thread.currentThread()) {
+            syncSchedule(update);
+        } else if (mRetimePending.compareAndSet(false, true)) {
+            mTickEntry.schedule(0, mToleranceMillis);
+        }
+    }
+
+    /**
+     * 就地修改后的下一次 tick，不早于 base（RUNNING 为 now，PAUSED 为暂停时刻），不晚于新的结束时刻。
+     * 普通时间点保持与上一次 tick 的相位；原先因剩余不足一个间隔而落在结束时刻的，回到以启动时刻为基准的间隔网格上。
+     */
+    private static long retimedNext(State current, long base, long finish, long interval) {
+        long next;
+        if (current.nextTickTime < current.finishTimeInFuture) {
+            // 原时间点已经过去（调度线程落后）时保持不变，照常追赶
+            next = Math.max(Math.min(base, current.nextTickTime),
+                    current.nextTickTime - current.intervalNanos + interval);
+        } else {
+            long anchor = current.startedNanos + current.pausedTotalNanos;
+            next = anchor + ((base - anchor) / interval + 1) * interval;
+        }
+        return Math.min(next, finish);
+    }
+
+    private void retime(boolean relative, long nanos) {
+        State update;
+        while (true) {
+            State current = mState.get();
+            if (current.status == TimerStatus.IDLE) {
+                return;
+            }
+            long base = current.status == TimerStatus.RUNNING ? now() : current.pausedNanos;
+            long finish = Math.max(base, relative ? current.finishTimeInFuture + nanos : base + nanos);
+            update = current.withTiming(retimedNext(current, base, finish, current.intervalNanos), finish,
+                    current.intervalNanos);
+            if (mState.compareAndSet(current, update)) {
+                break;
+            }
+        }
+        requestReschedule(update);
+    }
+
+    /**
+     * 已经错过预定时间时按策略返回新的 tick 时间点。错过的个数直接由时间差算出，不逐个间隔循环。
+     */
+    private long catchUp(long next, long now, long interval) {
+        if (next >= now) {
+            return next;
+        }
+        final long behind = now - next;
+        switch (mOption.catchUpPolicy) {
+            case CatchUpPolicy.BURST:
+                // 保留原时间点，立即补发，每次 tick 后前进一个间隔
+                return next;
+            case CatchUpPolicy.COALESCE:
+                // 合并到不晚于 now 的最后一个时间点，立即触发
+                return next + behind / interval * interval;
+            case CatchUpPolicy.SKIP:
+            default:
+                // 跳到第一个不早于 now 的时间点
+                return next + (behind + interval - 1) / interval * interval;
+        }
+    }
+
+    private void dispatchMissed(long next, long caughtUp, long interval) {
+        long missed = (caughtUp - next) / interval;
+        if (missed > 0) {
+            if (mStats != null) {
+                mStats.recordSkipped(missed);
+            }
+            onMissedTicks(missed);
+        }
+    }
+
+    public final long getFutureDuration() {
+        return TimeUnit.NANOSECONDS.toMillis(mFutureDurationNanos);
+    }
+
+    public final long getFutureDuration(@NonNull TimeUnit unit) {
+        return unit.convert(mFutureDurationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public final long getInterval() {
+        return TimeUnit.NANOSECONDS.toMillis(mIntervalNanos);
+    }
+
+    public final long getInterval(@NonNull TimeUnit unit) {
+        return unit.convert(mIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public final @TimerStatus.Enum int getState() {
+        return mState.get().status;
+    }
+
+    /**
+     * 注册 tick 监听器，在 onTick 之后按注册顺序回调，参数为剩余时间（毫秒）。同一实例重复注册会回调多次。
+     * 监听器保存在写时复制的数组中，派发时不分配、不装箱，可在任意线程注册或移除。
+     */
+    public final void addTickListener(@NonNull TickListener listener) {
+        mListeners.addTick(listener);
+    }
+
+    public final void removeTickListener(@NonNull TickListener listener) {
+        mListeners.removeTick(listener);
+    }
+
+    /**
+     * 注册状态迁移监听器，在对应的 onStart/onPause/onResume/onCancel/onFinish 之后回调。
+     */
+    public final void addStateListener(@NonNull StateListener listener) {
+        mListeners.addState(listener);
+    }
+
+    public final void removeStateListener(@NonNull StateListener listener) {
+        mListeners.removeState(listener);
+    }
+
+    /**
+     * 统计快照，未通过 Option 开启统计时返回 {@link TimerStats#EMPTY}。
+     */
+    @NonNull
+    public final TimerStats getStats() {
+        return mStats != null ? mStats.snapshot() : TimerStats.EMPTY;
+    }
+
+    /**
+     * 导出当前状态的定长快照（80 字节），可以存入 Bundle 或文件，
+     * 进程重建后在新构造的倒计时器上通过 {@link #restore(byte[])} 恢复。
+     */
+    @NonNull
+    public final byte[] snapshot() {
+        final State state = mState.get();
+        final long now = now();
+        return new TimerSnapshot(TimerSnapshot.KIND_COUNT_DOWN, state.status, mIntervalNanos, mFutureDurationNanos,
+                now, mTimeSource.currentTimeMillis(),
+                state.startedNanos - now,
+                state.status == TimerStatus.PAUSED ? state.pausedNanos - now : 0,
+                state.pausedTotalNanos,
+                state.nextTickTime - now,
+                state.finishTimeInFuture - now).toByteArray();
+    }
+
+    /**
+     * 在 IDLE 的倒计时器上 O(1) 恢复快照时的运行或暂停状态，不回调 onStart/onResume，也不重放错过的 tick：
+     * 快照之后错过的时间点一律跳过，个数通过 onMissedTicks 报告；恢复时已经到期的倒计时直接回调 onFinish。
+     * IDLE 的快照恢复后仍是 IDLE。
+     *
+     * @throws IllegalArgumentException 快照不合法，或间隔、时长与本倒计时器不一致
+     * @throws IllegalStateException    倒计时器不是 IDLE
+     */
+    public final void restore(@NonNull byte[] snapshot) {
+        final TimerSnapshot record = TimerSnapshot.fromByteArray(snapshot, TimerSnapshot.KIND_COUNT_DOWN);
+        if (record.intervalNanos != mIntervalNanos || record.durationNanos != mFutureDurationNanos) {
+            throw new IllegalArgumentException("快照的间隔或时长与倒计时器不一致");
+        }
+        if (mState.get().status != TimerStatus.IDLE) {
+            throw new IllegalStateException("只能在 IDLE 状态下恢复快照");
+        }
+        if (record.status == TimerStatus.IDLE) {
+            return;
+        }
+        final long now = now();
+        final long base = record.rebase(now, mTimeSource.currentTimeMillis());
+        final long next = base + record.nextTickOffset;
+        final long finish = base + record.finishOffset;
+        long restored = next;
+        State update;
+        if (record.status == TimerStatus.PAUSED) {
+            update = new State(TimerStatus.PAUSED, base + record.startedOffset, base + record.pausedOffset,
+                    record.pausedTotalNanos, next, finish, mIntervalNanos);
+        } else if (finish <= now) {
+            // 离开期间已经到期
+            dispatchFinish();
+            return;
+        } else {
+            if (next < now) {
+                // 跳到第一个不早于 now 的时间点，剩余不足一个间隔时在结束时刻派发
+                restored = Math.min(finish, next + (now - next + mIntervalNanos - 1) / mIntervalNanos * mIntervalNanos);
+            }
+            update = new State(TimerStatus.RUNNING, base + record.startedOffset, -1, record.pausedTotalNanos,
+                    restored, finish, mIntervalNanos);
+        }
+        if (!mState.compareAndSet(State.IDLE, update)) {
+            throw new IllegalStateException("只能在 IDLE 状态下恢复快照");
+        }
+        syncSchedule(update);
+        dispatchMissed(next, restored, mIntervalNanos);
+    }
+
+    /**
+     * 重新设置时长与间隔，复用同一个实例而不必重新构造倒计时器（及其调度条目、回调对象），
+     * 适合 RecyclerView 的 ViewHolder 在绑定时切换倒计时。
+     * Option、监听器与统计保持不变。只能在 IDLE 状态下调用，且不能与 start 并发。
+     *
+     * @throws IllegalArgumentException 时长或间隔不大于 0
+     * @throws IllegalStateException    倒计时器不是 IDLE
+     */
+    public final void reset(long millisDuration, long interval) {
+        reset(millisDuration, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public final void reset(long duration, long interval, @NonNull TimeUnit unit) {
+        if (duration <= 0) {
+            throw new IllegalArgumentException("倒计时时长必须大于0");
+        }
+        if (interval <= 0) {
+            throw new IllegalArgumentException("间隔时间必须大于0");
+        }
+        if (mState.get().status != TimerStatus.IDLE) {
+            throw new IllegalStateException("只能在 IDLE 状态下重置");
+        }
+        mFutureDurationNanos = unit.toNanos(duration);
+        mIntervalNanos = unit.toNanos(interval);
+    }
+
+    /**
+     * 延长（delta 为正）或缩短（delta 为负）本次倒计时。RUNNING 或 PAUSED 时就地修改结束时刻，
+     * 不回调 onCancel/onStart，tick 的相位不变；缩短到已经过去时尽快结束（PAUSED 时在 resume 后结束）。
+     * IDLE 时为空操作，之后 start 的时长仍是构造或 reset 时的时长。
+     * 可在任意线程调用，一个 Looper 周期内的多次修改只重新调度一次。
+     */
+    public final void addTime(long millisDelta) {
+        addTime(millisDelta, TimeUnit.MILLISECONDS);
+    }
+
+    public final void addTime(long delta, @NonNull TimeUnit unit) {
+        retime(true, unit.toNanos(delta));
+    }
+
+    /**
+     * 把剩余时间设为 remaining：RUNNING 时从现在起算，PAUSED 时为恢复后的剩余时间。其余行为与 {@link #addTime(long)} 相同。
+     *
+     * @throws IllegalArgumentException 剩余时间为负数
+     */
+    public final void setDeadline(long millisRemaining) {
+        setDeadline(millisRemaining, TimeUnit.MILLISECONDS);
+    }
+
+    public final void setDeadline(long remaining, @NonNull TimeUnit unit) {
+        if (remaining < 0) {
+            throw new IllegalArgumentException("剩余时间不能为负数");
+        }
+        retime(false, unit.toNanos(remaining));
+    }
+
+    /**
+     * 修改间隔。RUNNING 或 PAUSED 时就地生效，剩余时间不变：下一次 tick 改为上一次 tick 之后一个新间隔，
+     * 已经过去时立即触发。IDLE 时只影响之后的 start。可在任意线程调用，一个 Looper 周期内的多次修改只重新调度一次。
+     *
+     * @throws IllegalArgumentException 间隔不大于 0
+     */
+    public final void setInterval(long interval) {
+        setInterval(interval, TimeUnit.MILLISECONDS);
+    }
+
+    public final void setInterval(long interval, @NonNull TimeUnit unit) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("间隔时间必须大于0");
+        }
+        final long intervalNanos = unit.toNanos(interval);
+        mIntervalNanos = intervalNanos;
+        State update;
+        while (true) {
+            State current = mState.get();
+            if (current.status == TimerStatus.IDLE) {
+                return;
+            }
+            long base = current.status == TimerStatus.RUNNING ? now() : current.pausedNanos;
+            long finish = current.finishTimeInFuture;
+            update = current.withTiming(retimedNext(current, base, finish, intervalNanos), finish, intervalNanos);
+            if (mState.compareAndSet(current, update)) {
+                break;
+            }
+        }
+        requestReschedule(update);
+    }
+
+    public final void start() {
+        State update;
+        while (true) {
+            State current = mState.get();
+            if (current.status == TimerStatus.RUNNING) {
+                return;
+            }
+            long now = now();
+            long finish = now + mFutureDurationNanos;
+            long interval = mIntervalNanos;
+            long next = now + interval; // 设置第一次tick的绝对时间
+            // 间隔大于时长时没有中间 tick，启动即结束
+            update = next > finish ? State.IDLE : new State(TimerStatus.RUNNING, now, -1, 0, next, finish, interval);
+            if (mState.compareAndSet(current, update)) {
+                break;
+            }
+        }
+        syncSchedule(update);
+        onStartNanos(mFutureDurationNanos);
+        mListeners.dispatchState(TimerEvent.START, mFutureDurationNanos);
+        if (mOption.tickWhenStart) {
+            onTickNanos(mFutureDurationNanos);
+            mListeners.dispatchTick(mFutureDurationNanos);
+        }
+        if (update == State.IDLE) {
+            dispatchFinish();
+        }
+    }
+
+    public final void pause() {
+        State update;
+        while (true) {
+            State current = mState.get();
+            if (current.status != TimerStatus.RUNNING) {
+                return;
+            }
+            update = new State(TimerStatus.PAUSED, current.startedNanos, now(), current.pausedTotalNanos,
+                    current.nextTickTime, current.finishTimeInFuture, current.intervalNanos);
+            if (mState.compareAndSet(current, update)) {
+                break;
+            }
+        }
+        syncSchedule(update);
+        final long left = update.finishTimeInFuture - update.pausedNanos;
+        onPauseNanos(left);
+        mListeners.dispatchState(TimerEvent.PAUSE, left);
+    }
+
+    public final void resume() {
+        State paused;
+        State update;
+        long next;
+        long caughtUp;
+        while (true) {
+            paused = mState.get();
+            if (paused.status != TimerStatus.PAUSED) {
+                return;
+            }
+            long now = now();
+            long pauseDuration = now - paused.pausedNanos;
+            long pausedTotal = paused.pausedTotalNanos + pauseDuration;
+            // 结束时刻随暂停时长顺延，保留暂停期间 addTime/setDeadline 的修改
+            long finish = paused.finishTimeInFuture + pauseDuration;
+            next = paused.nextTickTime + pauseDuration; // 调整下一次tick时间
+            caughtUp = catchUp(next, now, paused.intervalNanos);
+            update = caughtUp > finish ? State.IDLE
+                    : new State(TimerStatus.RUNNING, paused.startedNanos, paused.pausedNanos, pausedTotal, caughtUp, finish,
+                    paused.intervalNanos);
+            if (mState.compareAndSet(paused, update)) {
+                break;
+            }
+        }
+        syncSchedule(update);
+        final long left = paused.finishTimeInFuture - paused.pausedNanos;
+        onResumeNanos(left);
+        mListeners.dispatchState(TimerEvent.RESUME, left);
+        dispatchMissed(next, caughtUp, paused.intervalNanos);
+        if (update == State.IDLE) {
+            dispatchFinish();
+        }
+    }
+
+    public final void cancel() {
+        State current;
+        long now;
+        while (true) {
+            current = mState.get();
+            if (current.status == TimerStatus.IDLE) {
+                return;
+            }
+            now = now();
+            if (mState.compareAndSet(current, State.IDLE)) {
+                break;
+            }
+        }
+        syncSchedule(State.IDLE);
+        final long left = current.status == TimerStatus.RUNNING
+                ? current.finishTimeInFuture - now // running -> cancel
+                : current.finishTimeInFuture - current.pausedNanos; // pause -> cancel
+        onCancelNanos(left);
+        mListeners.dispatchState(TimerEvent.CANCEL, left);
+    }
+
+    /**
+     * 纳秒精度的 {@link #onStart(long)}，默认实现换算为毫秒后转发。
+     */
+    protected void onStartNanos(long nanosUntilFinished) {
+        onStart(TimeUnit.NANOSECONDS.toMillis(nanosUntilFinished));
+    }
+
+    /**
+     * 纳秒精度的 {@link #onPause(long)}，默认实现换算为毫秒后转发。
+     */
+    protected void onPauseNanos(long nanosUntilFinished) {
+        onPause(TimeUnit.NANOSECONDS.toMillis(nanosUntilFinished));
+    }
+
+    /**
+     * 纳秒精度的 {@link #onResume(long)}，默认实现换算为毫秒后转发。
+     */
+    protected void onResumeNanos(long nanosUntilFinished) {
+        onResume(TimeUnit.NANOSECONDS.toMillis(nanosUntilFinished));
+    }
+
+    /**
+     * 纳秒精度的 {@link #onCancel(long)}，默认实现换算为毫秒后转发。
+     */
+    protected void onCancelNanos(long nanosUntilFinished) {
+        onCancel(TimeUnit.NANOSECONDS.toMillis(nanosUntilFinished));
+    }
+
+    /**
+     * 纳秒精度的 {@link #onTick(long)}，默认实现换算为毫秒后转发。
+     */
+    protected void onTickNanos(long nanosUntilFinished) {
+        onTick(TimeUnit.NANOSECONDS.toMillis(nanosUntilFinished));
+    }
+
+    /**
+     * 调度线程阻塞导致错过 tick 时间点时调用，在随后的 onTick 之前触发；{@link CatchUpPolicy#BURST} 下不会调用。
+     *
+     * @param missedTicks 被丢弃或合并的 tick 个数
+     */
+    protected void onMissedTicks(long missedTicks) {
+    }
+
+    protected void onStart(long millisUntilFinished) {
+    }
+
+    protected void onPause(long millisUntilFinished) {
+    }
+
+    protected void onResume(long millisUntilFinished) {
+    }
+
+    protected void onCancel(long millisUntilFinished) {
+    }
+
+    protected void onTick(long millisUntilFinished) {
+    }
+
+    /**
+     * 倒计时自然结束时调用。通过 cancel() 中止的倒计时不会触发此方法。
+     * @param millisDuration 始终为 0，表示倒计时已结束
+     */
+    protected void onFinish(long millisDuration) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayDeque;
+
+/**
+ * 倒计时器对象池：归还的倒计时器通过 {@link CountDownTimer#reset(long, long)} 重新配置后再次借出，
+ * 列表反复绑定时不再为每一次绑定构造新的倒计时器。
+ * <pre>
+ * CountDownTimerPool&lt;CountDownTimer&gt; pool = new CountDownTimerPool&lt;&gt;(16, CountDownTimer::new);
+ * CountDownTimer timer = pool.acquire(60_000L, 1000L);
+ * timer.addTickListener(listener);
+ * timer.start();
+ * ...
+ * timer.removeTickListener(listener);
+ * pool.release(timer);
+ * </pre>
+ * 池中的实例会被不同的使用者复用，回调应通过监听器注册并在归还前移除，而不是写在子类里引用具体的视图。
+ * 可在任意线程调用。
+ */
+public final class CountDownTimerPool<T extends CountDownTimer> {
+
+    public interface Factory<T extends CountDownTimer> {
+        @NonNull
+        T create(long millisDuration, long interval);
+    }
+
+    private final int mMaxIdle;
+    private final Factory<T> mFactory;
+    private final ArrayDeque<T> mIdle;
+
+    /**
+     * @param maxIdle 池中最多保留的空闲实例数，超出的实例归还时直接丢弃
+     */
+    public CountDownTimerPool(int maxIdle, @NonNull Factory<T> factory) {
+        if (maxIdle <= 0) {
+            throw new IllegalArgumentException("池容量必须大于0");
+        }
+        mMaxIdle = maxIdle;
+        mFactory = factory;
+        mIdle = new ArrayDeque<>(maxIdle);
+    }
+
+    /**
+     * 借出一个 IDLE 的倒计时器，有空闲实例时重置后复用，否则由工厂创建。
+     */
+    @NonNull
+    public T acquire(long millisDuration, long interval) {
+        T timer;
+        synchronized (this) {
+            timer = mIdle.pollFirst();
+        }
+        if (timer == null) {
+            return mFactory.create(millisDuration, interval);
+        }
+        timer.reset(millisDuration, interval);
+        return timer;
+    }
+
+    /**
+     * 归还倒计时器。仍在运行或暂停的会先被取消（回调 onCancel），池满时丢弃。
+     * 重复归还时直接抛出异常，不会取消已在池中的实例。
+     *
+     * @throws IllegalStateException 该实例已在池中
+     */
+    public void release(@NonNull T timer) {
+        checkNotPooled(timer);
+        // 取消会回调 onCancel，不在锁内执行
+        timer.cancel();
+        synchronized (this) {
+            // 取消期间可能被其他线程归还
+            checkNotPooled(timer);
+            if (mIdle.size() < mMaxIdle) {
+                mIdle.offerFirst(timer);
+            }
+        }
+    }
+
+    private synchronized void checkNotPooled(T timer) {
+        if (mIdle.contains(timer)) {
+            throw new IllegalStateException("倒计时器已归还");
+        }
+    }
+
+    /**
+     * 当前池中的空闲实例数。
+     */
+    public synchronized int idleCount() {
+        return mIdle.size();
+    }
+}
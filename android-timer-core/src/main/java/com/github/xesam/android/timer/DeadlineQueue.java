@@ -0,0 +1,117 @@
+package com.github.xesam.android.timer;
+
+import java.util.Arrays;
+
+/**
+ * 按截止时间排序的二叉小顶堆。节点记录自身在堆中的下标，因此删除任意节点是 O(log n)，
+ * 无需像 {@code Handler.removeMessages} 那样线性扫描。
+ * <p>
+ * 非线程安全，由持有者负责同步。
+ */
+final class DeadlineQueue<N extends DeadlineQueue.Node> {
+
+    static class Node {
+        long deadline;
+        int index = -1;
+
+        final boolean isQueued() {
+            return index >= 0;
+        }
+    }
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Node[] mHeap = new Node[INITIAL_CAPACITY];
+    private int mSize = 0;
+
+    int size() {
+        return mSize;
+    }
+
+    boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    N peek() {
+        return mSize == 0 ? null : (N) mHeap[0];
+    }
+
+    void add(N node) {
+        if (mSize == mHeap.length) {
+            mHeap = Arrays.copyOf(mHeap, mSize << 1);
+        }
+        node.index = mSize;
+        mHeap[mSize++] = node;
+        siftUp(node.index);
+    }
+
+    N poll() {
+        N head = peek();
+        if (head != null) {
+            removeAt(0);
+        }
+        return head;
+    }
+
+    void remove(N node) {
+        if (node.isQueued()) {
+            removeAt(node.index);
+        }
+    }
+
+    private void removeAt(int i) {
+        Node removed = mHeap[i];
+        int last = --mSize;
+        if (i != last) {
+            Node moved = mHeap[last];
+            mHeap[i] = moved;
+            moved.index = i;
+            mHeap[last] = null;
+            siftDown(i);
+            if (mHeap[i] == moved) {
+                siftUp(i);
+            }
+        } else {
+            mHeap[last] = null;
+        }
+        removed.index = -1;
+    }
+
+    private void siftUp(int i) {
+        Node node = mHeap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            Node p = mHeap[parent];
+            if (p.deadline <= node.deadline) {
+                break;
+            }
+            mHeap[i] = p;
+            p.index = i;
+            i = parent;
+        }
+        mHeap[i] = node;
+        node.index = i;
+    }
+
+    private void siftDown(int i) {
+        Node node = mHeap[i];
+        int half = mSize >>> 1;
+        while (i < half) {
+            int child = (i << 1) + 1;
+            int right = child + 1;
+            if (right < mSize && mHeap[right].deadline < mHeap[child].deadline) {
+                child = right;
+            }
+            Node c = mHeap[child];
+            if (node.deadline <= c.deadline) {
+                break;
+            }
+            mHeap[i] = c;
+            c.index = i;
+            i = child;
+        }
+        mHeap[i] = node;
+        node.index = i;
+    }
+}
@@ -0,0 +1,127 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于 {@link ScheduledExecutorService} 的调度后端，不依赖 Looper，适合遥测等后台计时器：
+ * <pre>
+ * ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+ * AndroidTimer telemetry = new AndroidTimer(1000L, new AndroidTimer.Option(false, new ExecutorTickScheduler(executor)));
+ * </pre>
+ * 到期动作默认在 executor 的线程上执行，也可以指定另一个 {@link Executor} 负责派发回调。
+ * executor 的生命周期由调用方管理。
+ * <p>
+ * 在没有 android.os 的普通 JVM 上，未指定调度器的计时器默认使用 {@link #getDefault()}。
+ */
+public final class ExecutorTickScheduler implements TickScheduler {
+    private static volatile ExecutorTickScheduler sDefault;
+
+    private final ScheduledExecutorService mExecutor;
+    @Nullable
+    private final Executor mCallbackExecutor;
+
+    /**
+     * 进程内共享的实例：单个守护线程的 {@link ScheduledThreadPoolExecutor}，取消的任务立即移出队列，
+     * 大量会话计时器反复 pause/cancel 时队列不会堆积已取消的任务。
+     */
+    @NonNull
+    public static ExecutorTickScheduler getDefault() {
+        ExecutorTickScheduler scheduler = sDefault;
+        if (scheduler == null) {
+            synchronized (ExecutorTickScheduler.class) {
+                scheduler = sDefault;
+                if (scheduler == null) {
+                    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                        @Override
+                        public Thread newThread(@NonNull Runnable r) {
+                            Thread thread = new Thread(r, "android-timer");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+                    executor.setRemoveOnCancelPolicy(true);
+                    scheduler = new ExecutorTickScheduler(executor);
+                    sDefault = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    public ExecutorTickScheduler(@NonNull ScheduledExecutorService executor) {
+        this(executor, null);
+    }
+
+    /**
+     * @param callbackExecutor 派发到期动作的 Executor，null 表示直接在 executor 的线程上执行
+     */
+    public ExecutorTickScheduler(@NonNull ScheduledExecutorService executor, @Nullable Executor callbackExecutor) {
+        mExecutor = executor;
+        mCallbackExecutor = callbackExecutor;
+    }
+
+    @NonNull
+    @Override
+    public Entry newEntry(@NonNull Runnable action) {
+        return new ExecutorEntry(action);
+    }
+
+    private final class ExecutorEntry implements Entry {
+        private final Runnable mAction;
+        @Nullable
+        private ScheduledFuture<?> mFuture;
+        // 每次 schedule/cancel 递增，已经开始执行的旧任务据此判断自己是否过期
+        private int mGeneration = 0;
+
+        ExecutorEntry(Runnable action) {
+            mAction = action;
+        }
+
+        @Override
+        public synchronized void schedule(long delayMillis) {
+            cancelLocked();
+            final int generation = mGeneration;
+            mFuture = mExecutor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    fire(generation);
+                }
+            }, Math.max(0, delayMillis), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public synchronized void cancel() {
+            cancelLocked();
+        }
+
+        private void cancelLocked() {
+            mGeneration++;
+            if (mFuture != null) {
+                mFuture.cancel(false);
+                mFuture = null;
+            }
+        }
+
+        private void fire(int generation) {
+            synchronized (this) {
+                if (generation != mGeneration) {
+                    return;
+                }
+                mFuture = null;
+            }
+            if (mCallbackExecutor == null) {
+                mAction.run();
+            } else {
+                mCallbackExecutor.execute(mAction);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.xesam.android.timer;
+
+/**
+ * 固定大小的对数分桶直方图（纳秒），记录时不分配内存。
+ * <p>
+ * 每个 2 的幂区间再等分为 4 个子桶，相对误差不超过 25%；覆盖到 2^44 纳秒（约 4.9 小时），更大的值计入最后一个桶。
+ * 非线程安全；并发记录使用 TickStats 中的原子记录器，快照再转换为本类。
+ */
+final class LogHistogram {
+    private static final int SUB_BITS = 2;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_EXP = 44;
+    private static final int OVERFLOW = (MAX_EXP - SUB_BITS + 1) * SUB_COUNT;
+    static final int BUCKET_COUNT = OVERFLOW + 1;
+
+    private final int[] mCounts;
+    private long mTotal = 0;
+    private long mMax = 0;
+
+    LogHistogram() {
+        mCounts = new int[BUCKET_COUNT];
+    }
+
+    /**
+     * 由已有的桶计数构造，总数按桶计数求和。
+     */
+    LogHistogram(int[] counts, long max) {
+        mCounts = counts;
+        long total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        mTotal = total;
+        mMax = max;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) Math.max(0, value);
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        if (exp >= MAX_EXP) {
+            return OVERFLOW;
+        }
+        int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exp - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    /**
+     * 桶内的最大值，百分位按它报告，保证不会低估。
+     */
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        if (bucket >= OVERFLOW) {
+            return Long.MAX_VALUE;
+        }
+        int exp = bucket / SUB_COUNT + SUB_BITS - 1;
+        int sub = bucket % SUB_COUNT;
+        int shift = exp - SUB_BITS;
+        return ((long) (SUB_COUNT + sub) << shift) + (1L << shift) - 1;
+    }
+
+    void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        mCounts[bucketOf(value)]++;
+        mTotal++;
+        if (value > mMax) {
+            mMax = value;
+        }
+    }
+
+    long count() {
+        return mTotal;
+    }
+
+    long max() {
+        return mMax;
+    }
+
+    /**
+     * @param percentile 0 到 100
+     */
+    long valueAtPercentile(double percentile) {
+        if (mTotal == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * mTotal));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += mCounts[i];
+            if (seen >= target) {
+                return Math.min(upperBoundOf(i), mMax);
+            }
+        }
+        return mMax;
+    }
+}
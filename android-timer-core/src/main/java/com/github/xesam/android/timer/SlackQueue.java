@@ -0,0 +1,70 @@
+package com.github.xesam.android.timer;
+
+/**
+ * 带容差的截止时间队列，类似 Linux 定时器的 slack：每个节点有最早截止时间与最晚截止时间两个堆序。
+ * <p>
+ * 持有者只需在最早的“最晚截止时间”唤醒，届时把所有“最早截止时间”已到的节点一并取出，
+ * 容差窗口相互重叠的节点因此合并为一次唤醒；每个节点都不会早于自己的最早截止时间触发，也不会晚于最晚截止时间。
+ * 容差为 0 时两个时间相同，与 {@link DeadlineQueue} 的行为一致。
+ * <p>
+ * 非线程安全，由持有者负责同步。
+ */
+final class SlackQueue<N extends SlackQueue.Node> {
+
+    static class Node extends DeadlineQueue.Node {
+        // deadline 字段是最早截止时间，最晚截止时间保存在另一个堆的节点上
+        final DeadlineQueue.Node latest = new DeadlineQueue.Node();
+    }
+
+    private final DeadlineQueue<N> mEarliest = new DeadlineQueue<>();
+    private final DeadlineQueue<DeadlineQueue.Node> mLatest = new DeadlineQueue<>();
+
+    int size() {
+        return mEarliest.size();
+    }
+
+    boolean isEmpty() {
+        return mEarliest.isEmpty();
+    }
+
+    /**
+     * 加入队列，已在队列中时先移除。
+     *
+     * @param tolerance 允许推迟的时长，与 deadline 同一单位
+     */
+    void add(N node, long deadline, long tolerance) {
+        remove(node);
+        node.deadline = deadline;
+        node.latest.deadline = deadline + Math.max(0, tolerance);
+        mEarliest.add(node);
+        mLatest.add(node.latest);
+    }
+
+    void remove(N node) {
+        if (node.isQueued()) {
+            mEarliest.remove(node);
+            mLatest.remove(node.latest);
+        }
+    }
+
+    /**
+     * 下一次必须唤醒的时间，即所有节点中最早的最晚截止时间；队列为空时返回 {@link Long#MAX_VALUE}。
+     */
+    long nextWakeup() {
+        DeadlineQueue.Node head = mLatest.peek();
+        return head == null ? Long.MAX_VALUE : head.deadline;
+    }
+
+    /**
+     * 取出一个最早截止时间不晚于 now 的节点，没有时返回 null。
+     */
+    N pollDue(long now) {
+        N head = mEarliest.peek();
+        if (head == null || head.deadline > now) {
+            return null;
+        }
+        mEarliest.poll();
+        mLatest.remove(head.latest);
+        return head;
+    }
+}
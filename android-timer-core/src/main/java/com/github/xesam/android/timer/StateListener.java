@@ -0,0 +1,12 @@
+package com.github.xesam.android.timer;
+
+/**
+ * 状态迁移监听器，参数为基本类型，派发时不装箱。通过 {@code addStateListener} 注册，同一计时器可注册多个。
+ */
+public interface StateListener {
+    /**
+     * @param event  迁移事件
+     * @param millis 与对应回调（onStart、onPause 等）的参数一致；FINISH 时为 0
+     */
+    void onStateChanged(@TimerEvent.Enum int event, long millis);
+}
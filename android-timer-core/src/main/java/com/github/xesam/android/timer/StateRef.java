@@ -0,0 +1,162 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * 计时器状态快照的持有者。默认实现通过 CAS 发布，可被任意线程并发迁移；
+ * 限定线程的实现只在所属线程上迁移，compareAndSet 退化为一次引用比较。
+ */
+abstract class StateRef<S> {
+
+    abstract S get();
+
+    abstract boolean compareAndSet(S expect, S update);
+
+    /**
+     * 是否限定线程。限定时状态只会在同一个线程上迁移，计时器据此省去其他跨线程的同步。
+     */
+    boolean isConfined() {
+        return false;
+    }
+
+    /**
+     * @param dispatcher 计时器的调度条目，限定线程时优先绑定它报告的派发线程
+     */
+    @NonNull
+    static <S> StateRef<S> create(@ThreadConfinement.Enum int confinement, S initial,
+                                  @NonNull TickScheduler.Entry dispatcher) {
+        switch (confinement) {
+            case ThreadConfinement.CONFINED:
+                return new Confined<>(initial, dispatcher);
+            case ThreadConfinement.CONFINED_STRICT:
+                return new ConfinedStrict<>(initial, dispatcher);
+            case ThreadConfinement.NONE:
+            default:
+                return new Atomic<>(initial);
+        }
+    }
+
+    private static final class Atomic<S> extends StateRef<S> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Atomic, Object> VALUE =
+                AtomicReferenceFieldUpdater.newUpdater(Atomic.class, Object.class, "mValue");
+
+        private volatile Object mValue;
+
+        Atomic(S initial) {
+            mValue = initial;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        S get() {
+            return (S) mValue;
+        }
+
+        @Override
+        boolean compareAndSet(S expect, S update) {
+            return VALUE.compareAndSet(this, expect, update);
+        }
+    }
+
+    /**
+     * 限定线程的公共部分。所属线程在第一次迁移（通常是 start）时绑定，而不是构造时：
+     * 调度条目报告了派发线程（指定 Looper 的 Handler 等）时绑定派发线程，在其他线程上启动直接抛出异常；
+     * 否则绑定第一次迁移的线程，默认调度器随后也在该线程的 Looper 上调度。
+     */
+    private abstract static class Owned<S> extends StateRef<S> {
+        private final TickScheduler.Entry mDispatcher;
+        // 只写一次；volatile 保证严格模式下其他线程读到已绑定的线程
+        @Nullable
+        private volatile Thread mOwner;
+
+        Owned(TickScheduler.Entry dispatcher) {
+            mDispatcher = dispatcher;
+        }
+
+        @Override
+        final boolean isConfined() {
+            return true;
+        }
+
+        final boolean isBound() {
+            return mOwner != null;
+        }
+
+        final void checkOrBindOwner() {
+            if (mOwner == null) {
+                Thread owner = mDispatcher.getDispatchThread();
+                mOwner = owner != null ? owner : Thread.currentThread();
+            }
+            checkThread();
+        }
+
+        final void checkThread() {
+            final Thread owner = mOwner;
+            if (Thread.currentThread() != owner) {
+                throw new IllegalStateException("计时器已限定在线程 " + owner.getName()
+                        + " 上，不能在线程 " + Thread.currentThread().getName() + " 上访问");
+            }
+        }
+    }
+
+    /**
+     * 只检查迁移的线程。状态以 volatile 发布（没有 CAS），其他线程读取 getState() 等也能看到最新的状态。
+     */
+    private static final class Confined<S> extends Owned<S> {
+        private volatile S mValue;
+
+        Confined(S initial, TickScheduler.Entry dispatcher) {
+            super(dispatcher);
+            mValue = initial;
+        }
+
+        @Override
+        S get() {
+            return mValue;
+        }
+
+        @Override
+        boolean compareAndSet(S expect, S update) {
+            checkOrBindOwner();
+            if (mValue != expect) {
+                return false;
+            }
+            mValue = update;
+            return true;
+        }
+    }
+
+    /**
+     * 读取也检查线程，状态保存在普通字段中，只有所属线程能访问。绑定之前任意线程都可以读取初始状态。
+     */
+    private static final class ConfinedStrict<S> extends Owned<S> {
+        private S mValue;
+
+        ConfinedStrict(S initial, TickScheduler.Entry dispatcher) {
+            super(dispatcher);
+            mValue = initial;
+        }
+
+        @Override
+        S get() {
+            if (isBound()) {
+                checkThread();
+            }
+            return mValue;
+        }
+
+        @Override
+        boolean compareAndSet(S expect, S update) {
+            checkOrBindOwner();
+            if (mValue != expect) {
+                return false;
+            }
+            mValue = update;
+            return true;
+        }
+    }
+}
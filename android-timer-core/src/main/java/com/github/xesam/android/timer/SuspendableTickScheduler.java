@@ -0,0 +1,189 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * 可挂起的调度器包装：挂起期间不在底层调度器上保留任何调度，调度线程不会被唤醒。
+ * <p>
+ * 挂起期间截止时间仍按时钟记录，恢复时每个待触发的 Entry 按剩余时间重新调度，已经过期的立即触发。
+ * 计时器本身没有被暂停，tick 时按自己的时间源计算，因此后台停留 10 分钟的 CountDownTimer
+ * 恢复后报告正确的剩余时间，或者直接完成。
+ * <p>
+ * 可在任意线程调用；到期动作在底层调度器的线程上执行。
+ */
+public class SuspendableTickScheduler implements TickScheduler {
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final TickScheduler mDelegate;
+    private final TimeSource mClock;
+    // 待触发的 Entry 组成的侵入式双向链表，入队出队不分配对象，也不计算哈希
+    @Nullable
+    private SuspendableEntry mHead;
+    @Nullable
+    private SuspendableEntry mTail;
+    private int mPendingCount;
+    private boolean mSuspended = false;
+
+    /**
+     * 使用平台默认的底层调度器与时钟（Android 上绑定构造线程的 Looper）。
+     */
+    public SuspendableTickScheduler() {
+        this(TimerPlatform.get().defaultScheduler(), TimerPlatform.get().defaultTimeSource());
+    }
+
+    /**
+     * @param delegate 未挂起时实际承载调度的底层调度器
+     * @param clock    记录截止时间的时钟，应与 delegate 匹配
+     */
+    public SuspendableTickScheduler(@NonNull TickScheduler delegate, @NonNull TimeSource clock) {
+        mDelegate = delegate;
+        mClock = clock;
+    }
+
+    /**
+     * 取消所有底层调度，之后的调度只记录截止时间，已挂起时为空操作。
+     */
+    public synchronized void suspend() {
+        if (mSuspended) {
+            return;
+        }
+        mSuspended = true;
+        for (SuspendableEntry entry = mHead; entry != null; entry = entry.mNext) {
+            entry.mDelegateEntry.cancel();
+        }
+    }
+
+    /**
+     * 按剩余时间重新调度所有待触发的 Entry，已过期的立即触发，未挂起时为空操作。
+     */
+    public synchronized void resume() {
+        if (!mSuspended) {
+            return;
+        }
+        mSuspended = false;
+        final long now = mClock.nanoTime();
+        // 底层调度只投递不执行，到期回调要等释放锁后才能出队，遍历期间链表不变
+        for (SuspendableEntry entry = mHead; entry != null; entry = entry.mNext) {
+            entry.mDelegateEntry.schedule(toDelayMillis(entry.mDeadline - now), entry.mToleranceMillis);
+        }
+    }
+
+    public synchronized boolean isSuspended() {
+        return mSuspended;
+    }
+
+    /**
+     * 当前待触发的 Entry 数量，包括挂起期间记录的。
+     */
+    public synchronized int pendingCount() {
+        return mPendingCount;
+    }
+
+    @NonNull
+    @Override
+    public Entry newEntry(@NonNull Runnable action) {
+        return new SuspendableEntry(action);
+    }
+
+    private static long toDelayMillis(long delayNanos) {
+        return (Math.max(0, delayNanos) + NANOS_PER_MILLI - 1) / NANOS_PER_MILLI;
+    }
+
+    private final class SuspendableEntry implements Entry, Runnable {
+        private final Runnable mAction;
+        private final Entry mDelegateEntry;
+        private long mDeadline;
+        private long mToleranceMillis;
+        // 以下字段由 SuspendableTickScheduler 的锁保护
+        private boolean mPending;
+        @Nullable
+        private SuspendableEntry mPrev;
+        @Nullable
+        private SuspendableEntry mNext;
+
+        SuspendableEntry(Runnable action) {
+            mAction = action;
+            mDelegateEntry = mDelegate.newEntry(this);
+        }
+
+        @Override
+        public void schedule(long delayMillis) {
+            schedule(delayMillis, 0);
+        }
+
+        @Override
+        public void schedule(long delayMillis, long toleranceMillis) {
+            synchronized (SuspendableTickScheduler.this) {
+                mDeadline = mClock.nanoTime() + Math.max(0, delayMillis) * NANOS_PER_MILLI;
+                mToleranceMillis = toleranceMillis;
+                link();
+                if (!mSuspended) {
+                    mDelegateEntry.schedule(delayMillis, toleranceMillis);
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (SuspendableTickScheduler.this) {
+                if (unlink()) {
+                    mDelegateEntry.cancel();
+                }
+            }
+        }
+
+        @Nullable
+        @Override
+        public Thread getDispatchThread() {
+            return mDelegateEntry.getDispatchThread();
+        }
+
+        @Override
+        public void run() {
+            synchronized (SuspendableTickScheduler.this) {
+                // 挂起前已出队、挂起后才执行的底层回调，留到恢复时再触发
+                if (mSuspended || !unlink()) {
+                    return;
+                }
+            }
+            mAction.run();
+        }
+
+        private void link() {
+            if (mPending) {
+                return;
+            }
+            mPending = true;
+            mPrev = mTail;
+            if (mTail != null) {
+                mTail.mNext = this;
+            } else {
+                mHead = this;
+            }
+            mTail = this;
+            mPendingCount++;
+        }
+
+        private boolean unlink() {
+            if (!mPending) {
+                return false;
+            }
+            if (mPrev != null) {
+                mPrev.mNext = mNext;
+            } else {
+                mHead = mNext;
+            }
+            if (mNext != null) {
+                mNext.mPrev = mPrev;
+            } else {
+                mTail = mPrev;
+            }
+            mPending = false;
+            mPrev = null;
+            mNext = null;
+            mPendingCount--;
+            return true;
+        }
+    }
+}
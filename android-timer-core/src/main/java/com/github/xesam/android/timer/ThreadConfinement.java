@@ -0,0 +1,52 @@
+package com.github.xesam.android.timer;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.LOCAL_VARIABLE;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.PARAMETER;
+
+import androidx.annotation.IntDef;
+
+import java.lang.annotation.Target;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * 计时器状态机的线程模型。限定线程后迁移不再使用 CAS，
+ * addTime/setDeadline/setInterval 直接重新调度，不再读写跨线程的立即触发标志位。
+ * <p>
+ * 限定的线程在第一次迁移状态（通常是 start）时绑定，计时器可以在其他线程上构造。
+ * 调度器能报告派发线程时（{@link TickScheduler.Entry#getDispatchThread()}，例如指定了 Looper 的 HandlerTickScheduler）
+ * 绑定派发线程，在其他线程上启动直接抛出异常；否则绑定第一次迁移的线程，使用默认调度器时即 tick 回调所在的 Looper 线程，
+ * 使用其他调度器时需保证 tick 也在该线程上派发。
+ * <p>
+ * 限定线程不会去掉的开销：
+ * <ul>
+ * <li>调度器自身的同步，例如 HandlerTickScheduler 每次调度与派发时 Entry 上的锁；</li>
+ * <li>派发 tick 时对监听器数组的一次 volatile 读；</li>
+ * <li>start/restore/snapshot 对间隔（CountDownTimer 还有时长）的 volatile 读，tick 本身不读；</li>
+ * <li>开启统计时 TickStats 的记录开销。</li>
+ * </ul>
+ */
+public final class ThreadConfinement {
+    @Retention(RetentionPolicy.SOURCE)
+    @Target({METHOD, PARAMETER, FIELD, LOCAL_VARIABLE})
+    @IntDef({NONE, CONFINED, CONFINED_STRICT})
+    public @interface Enum {
+    }
+
+    /**
+     * 不限定线程，任意线程都可以调用控制方法（默认）。
+     */
+    public static final int NONE = 0;
+    /**
+     * 只允许在所属线程上迁移状态。每次 start/pause/resume/cancel 与 tick 只做一次线程引用比较与一次 volatile 写，
+     * 在其他线程上迁移时抛出 IllegalStateException；其他线程调用 getState() 等读取不检查，总能读到最新发布的状态。适合 release 构建。
+     */
+    public static final int CONFINED = 1;
+    /**
+     * 在 {@link #CONFINED} 的基础上，getState() 等只读访问也检查线程，状态保存在普通字段中，
+     * 适合 debug 构建尽早发现越界访问。
+     */
+    public static final int CONFINED_STRICT = 2;
+}
@@ -0,0 +1,11 @@
+package com.github.xesam.android.timer;
+
+/**
+ * tick 监听器，参数为基本类型，派发时不装箱。通过 {@code addTickListener} 注册，同一计时器可注册多个。
+ */
+public interface TickListener {
+    /**
+     * @param millis AndroidTimer 为已运行时间，CountDownTimer 为剩余时间，与对应的 onTick 参数一致
+     */
+    void onTick(long millis);
+}
@@ -0,0 +1,49 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * tick 调度后端：计时器只声明“多久之后唤醒我”，由调度器决定如何落到消息队列上。
+ * <p>
+ * 每个计时器持有一个 {@link Entry}，同一时刻一个 Entry 最多只有一个待触发的调度。
+ */
+public interface TickScheduler {
+
+    /**
+     * 为一个计时器创建调度条目。
+     *
+     * @param action 到期时在调度线程上执行的动作
+     */
+    @NonNull
+    Entry newEntry(@NonNull Runnable action);
+
+    interface Entry {
+        /**
+         * 在 delayMillis 之后触发一次；若已有待触发的调度，则被本次调度替换。
+         */
+        void schedule(long delayMillis);
+
+        /**
+         * 在 [delayMillis, delayMillis + toleranceMillis] 内的某一时刻触发一次；调度器可以在窗口内推迟，
+         * 与其他 Entry 合并为一次唤醒。默认忽略容差，按 delayMillis 精确调度。
+         */
+        default void schedule(long delayMillis, long toleranceMillis) {
+            schedule(delayMillis);
+        }
+
+        /**
+         * 取消待触发的调度；没有待触发的调度时为空操作。
+         */
+        void cancel();
+
+        /**
+         * 执行到期动作的线程，限定线程的计时器据此绑定所属线程。
+         * 无法确定（线程池、第一次调度时才绑定 Looper 等）时返回 null。
+         */
+        @Nullable
+        default Thread getDispatchThread() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 计时器内部的统计记录器。tick 派发线程与读取快照的线程可能不同，记录与快照都不加锁：
+ * 每次记录只对所在的桶做一次原子自增，最大值只在变大时 CAS 更新，不与计时器的状态迁移或快照读取竞争。
+ * <p>
+ * 快照逐桶读取，读取期间的记录可能只有一部分计入，总数按读到的桶计数求和，百分位与计数始终自洽。
+ */
+final class TickStats {
+    private final Recorder mLateness = new Recorder();
+    private final Recorder mCallback = new Recorder();
+    // resume/restore 可能在控制线程上记录
+    private final AtomicLong mSkippedIntervals = new AtomicLong();
+
+    void recordLateness(long nanos) {
+        mLateness.record(nanos);
+    }
+
+    void recordCallback(long nanos) {
+        mCallback.record(nanos);
+    }
+
+    void recordSkipped(long intervals) {
+        mSkippedIntervals.addAndGet(intervals);
+    }
+
+    @NonNull
+    TimerStats snapshot() {
+        return new TimerStats(mLateness.snapshot(), mCallback.snapshot(), mSkippedIntervals.get());
+    }
+
+    /**
+     * 与 {@link LogHistogram} 分桶一致的原子记录器，可被多个线程同时记录。
+     */
+    private static final class Recorder {
+        private final AtomicIntegerArray mCounts = new AtomicIntegerArray(LogHistogram.BUCKET_COUNT);
+        private final AtomicLong mMax = new AtomicLong();
+
+        void record(long value) {
+            if (value < 0) {
+                value = 0;
+            }
+            // 先更新最大值再计数，快照先读计数再读最大值，读到的最大值不会小于已计入的值
+            long max = mMax.get();
+            while (value > max && !mMax.compareAndSet(max, value)) {
+                max = mMax.get();
+            }
+            mCounts.getAndIncrement(LogHistogram.bucketOf(value));
+        }
+
+        LogHistogram snapshot() {
+            final int[] counts = new int[LogHistogram.BUCKET_COUNT];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = mCounts.get(i);
+            }
+            return new LogHistogram(counts, mMax.get());
+        }
+    }
+}
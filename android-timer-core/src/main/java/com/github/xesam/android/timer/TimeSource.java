@@ -0,0 +1,34 @@
+package com.github.xesam.android.timer;
+
+/**
+ * 计时器读取“当前时间”的来源。返回值是单调递增的纳秒数，只用于计算差值，与墙上时间无关。
+ * <p>
+ * Android 上默认使用 {@code SystemClockTimeSource.ELAPSED_REALTIME}（包含深度睡眠时间），普通 JVM 上默认使用 {@link #MONOTONIC}。
+ * 注意 {@link TickScheduler} 按真实时间延迟触发，替换时间源时应让调度器与之匹配，
+ * 例如同时把 {@link VirtualTimeSource} 作为时间源和调度器。
+ */
+public interface TimeSource {
+    /**
+     * 基于 {@link System#nanoTime()} 的单调时钟，不依赖 android.os。
+     */
+    TimeSource MONOTONIC = new TimeSource() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+    };
+
+    /**
+     * @return 当前时间（纳秒）
+     */
+    long nanoTime();
+
+    /**
+     * 与本时间源配套的墙上时间，只用于快照跨重启恢复时估算经过的时间。
+     *
+     * @return 当前墙上时间（毫秒）
+     */
+    default long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+}
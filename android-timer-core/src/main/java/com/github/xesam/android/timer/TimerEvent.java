@@ -0,0 +1,32 @@
+package com.github.xesam.android.timer;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.LOCAL_VARIABLE;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.PARAMETER;
+
+import androidx.annotation.IntDef;
+
+import java.lang.annotation.Target;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * {@link StateListener} 收到的状态迁移事件。
+ */
+public final class TimerEvent {
+    @Retention(RetentionPolicy.SOURCE)
+    @Target({METHOD, PARAMETER, FIELD, LOCAL_VARIABLE})
+    @IntDef({START, PAUSE, RESUME, CANCEL, FINISH})
+    public @interface Enum {
+    }
+
+    public static final int START = 0;
+    public static final int PAUSE = 1;
+    public static final int RESUME = 2;
+    public static final int CANCEL = 3;
+    /**
+     * 仅 CountDownTimer 正常结束时触发。
+     */
+    public static final int FINISH = 4;
+}
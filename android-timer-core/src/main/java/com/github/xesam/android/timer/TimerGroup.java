@@ -0,0 +1,219 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+
+/**
+ * 一组共用虚拟时钟的计时器，整组暂停/恢复是 O(1) 的。
+ * <p>
+ * TimerGroup 同时是成员的时间源和调度器：成员的截止时间都以组时钟计量，保存在一个小顶堆中，
+ * 组只在底层调度器上挂一个指向最早截止时间的调度。
+ * <pre>
+ * TimerGroup group = new TimerGroup();
+ * CountDownTimer countDown = new CountDownTimer(60_000L, 1000L, new CountDownTimer.Option.Builder()
+ *         .setGroup(group)
+ *         .build());
+ * countDown.start();
+ * group.pause();  // 冻结组时钟，只取消一次底层调度
+ * group.resume(); // 整体平移一个偏移量，成员的剩余时间不变
+ * </pre>
+ * 与 SharedTickScheduler 一样支持 {@link Entry#schedule(long, long)} 的容差，窗口重叠的成员合并为一次唤醒。
+ * <p>
+ * 组暂停时成员的状态仍是 RUNNING，不会回调 onPause/onResume；成员自身的 pause/resume 照常可用。
+ * 可在任意线程调用；到期动作在底层调度器的线程上执行。
+ */
+public final class TimerGroup implements TimeSource, TickScheduler {
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final long NOT_ARMED = Long.MAX_VALUE;
+    // 底层调度器只有毫秒精度，Handler 的 uptime 截断可能让唤醒提前不到 1ms；窗口内的成员一并视为到期
+    private static final long DUE_WINDOW_NANOS = NANOS_PER_MILLI;
+
+    private final TimeSource mBase;
+    private final TickScheduler.Entry mDelegate;
+    private final SlackQueue<GroupEntry> mQueue = new SlackQueue<>();
+    // 仅在底层调度回调中使用，复用以避免每次分配
+    private final ArrayList<GroupEntry> mDueBatch = new ArrayList<>();
+    // 组时钟 = 底层时钟 - 累计暂停时长；暂停期间停在冻结的读数。两者整体替换，成员读时钟不加锁
+    private volatile Offset mOffset = Offset.RUNNING;
+    // 底层调度指向的组时钟读数
+    private long mArmedAt = NOT_ARMED;
+
+    /**
+     * 使用平台默认的调度器与时间源（Android 上绑定构造线程的 Looper）。
+     */
+    public TimerGroup() {
+        this(TimerPlatform.get().defaultScheduler(), TimerPlatform.get().defaultTimeSource());
+    }
+
+    /**
+     * @param scheduler 承载整组调度的底层调度器，组只占用其中一个 Entry
+     * @param base      组时钟未暂停时跟随的时间源，应与 scheduler 匹配
+     */
+    public TimerGroup(@NonNull TickScheduler scheduler, @NonNull TimeSource base) {
+        mBase = base;
+        mDelegate = scheduler.newEntry(new Runnable() {
+            @Override
+            public void run() {
+                dispatchDue();
+            }
+        });
+    }
+
+    /**
+     * 成员每次 tick 与状态迁移都会读取，只读一次 volatile 字段，不与 pause/resume/调度竞争组的锁。
+     */
+    @Override
+    public long nanoTime() {
+        return mOffset.nanoTime(mBase);
+    }
+
+    /**
+     * 冻结组时钟并取消底层调度，已暂停时为空操作。
+     */
+    public synchronized void pause() {
+        final Offset offset = mOffset;
+        if (offset.isFrozen()) {
+            return;
+        }
+        mOffset = new Offset(offset.pausedTotal, offset.nanoTime(mBase));
+        if (mArmedAt != NOT_ARMED) {
+            mArmedAt = NOT_ARMED;
+            mDelegate.cancel();
+        }
+    }
+
+    /**
+     * 从冻结的读数继续走时并重新挂出最早截止时间，未暂停时为空操作。
+     */
+    public synchronized void resume() {
+        final Offset offset = mOffset;
+        if (!offset.isFrozen()) {
+            return;
+        }
+        mOffset = new Offset(mBase.nanoTime() - offset.frozenAt, -1);
+        armLocked();
+    }
+
+    public boolean isPaused() {
+        return mOffset.isFrozen();
+    }
+
+    /**
+     * 当前排队等待触发的成员调度数量。
+     */
+    public synchronized int size() {
+        return mQueue.size();
+    }
+
+    @NonNull
+    @Override
+    public Entry newEntry(@NonNull Runnable action) {
+        return new GroupEntry(action);
+    }
+
+    private void dispatchDue() {
+        synchronized (this) {
+            mArmedAt = NOT_ARMED;
+            final Offset offset = mOffset;
+            if (offset.isFrozen()) {
+                return;
+            }
+            final long now = offset.nanoTime(mBase);
+            GroupEntry due;
+            while ((due = mQueue.pollDue(now + DUE_WINDOW_NANOS - 1)) != null) {
+                due.mDue = true;
+                mDueBatch.add(due);
+            }
+            armLocked();
+        }
+        for (int i = 0, size = mDueBatch.size(); i < size; i++) {
+            GroupEntry entry = mDueBatch.get(i);
+            if (entry.mDue) {
+                entry.mDue = false;
+                entry.mAction.run();
+            }
+        }
+        mDueBatch.clear();
+    }
+
+    /**
+     * 唤醒时间提前时重新挂出底层调度；组暂停或队列为空时不挂。
+     */
+    private void armLocked() {
+        final Offset offset = mOffset;
+        long wakeup = mQueue.nextWakeup();
+        if (wakeup >= mArmedAt || offset.isFrozen()) {
+            return;
+        }
+        long delayNanos = Math.max(0, wakeup - offset.nanoTime(mBase));
+        mArmedAt = wakeup;
+        // 调度器只有毫秒精度，向上取整；仍可能提前不到 1ms 到达，由 dispatchDue 的到期窗口吸收
+        mDelegate.schedule((delayNanos + NANOS_PER_MILLI - 1) / NANOS_PER_MILLI);
+    }
+
+    private final class GroupEntry extends SlackQueue.Node implements Entry {
+        private final Runnable mAction;
+        // 已出堆、等待本轮执行；被 cancel/schedule 清除
+        volatile boolean mDue = false;
+
+        GroupEntry(Runnable action) {
+            mAction = action;
+        }
+
+        @Override
+        public void schedule(long delayMillis) {
+            schedule(delayMillis, 0);
+        }
+
+        @Override
+        public void schedule(long delayMillis, long toleranceMillis) {
+            synchronized (TimerGroup.this) {
+                mDue = false;
+                mQueue.add(this, nanoTime() + Math.max(0, delayMillis) * NANOS_PER_MILLI,
+                        Math.max(0, toleranceMillis) * NANOS_PER_MILLI);
+                // 队首被取消或推后时保留旧的底层调度，届时空跑一次再重新布置
+                armLocked();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (TimerGroup.this) {
+                mDue = false;
+                mQueue.remove(this);
+            }
+        }
+
+        @Nullable
+        @Override
+        public Thread getDispatchThread() {
+            return mDelegate.getDispatchThread();
+        }
+    }
+
+    /**
+     * 组时钟相对底层时钟的偏移，不可变，只在持有组的锁时整体替换。
+     */
+    private static final class Offset {
+        static final Offset RUNNING = new Offset(0, -1);
+
+        final long pausedTotal;
+        // 暂停时冻结的组时钟读数，未暂停时为 -1
+        final long frozenAt;
+
+        Offset(long pausedTotal, long frozenAt) {
+            this.pausedTotal = pausedTotal;
+            this.frozenAt = frozenAt;
+        }
+
+        boolean isFrozen() {
+            return frozenAt >= 0;
+        }
+
+        long nanoTime(TimeSource base) {
+            return frozenAt >= 0 ? frozenAt : base.nanoTime() - pausedTotal;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 计时器的监听器列表。写时复制的数组：注册与移除时整体替换，派发时直接遍历当前数组，
+ * 不分配迭代器、不装箱，也不与注册线程竞争锁。
+ */
+final class TimerListeners {
+    private static final Object[] EMPTY = new Object[0];
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private volatile Object[] mTickListeners = EMPTY;
+    private volatile Object[] mStateListeners = EMPTY;
+
+    synchronized void addTick(@NonNull TickListener listener) {
+        mTickListeners = append(mTickListeners, listener);
+    }
+
+    synchronized void removeTick(@NonNull TickListener listener) {
+        mTickListeners = remove(mTickListeners, listener);
+    }
+
+    synchronized void addState(@NonNull StateListener listener) {
+        mStateListeners = append(mStateListeners, listener);
+    }
+
+    synchronized void removeState(@NonNull StateListener listener) {
+        mStateListeners = remove(mStateListeners, listener);
+    }
+
+    void dispatchTick(long nanos) {
+        final Object[] listeners = mTickListeners;
+        if (listeners.length == 0) {
+            return;
+        }
+        final long millis = nanos / NANOS_PER_MILLI;
+        for (Object listener : listeners) {
+            ((TickListener) listener).onTick(millis);
+        }
+    }
+
+    void dispatchState(@TimerEvent.Enum int event, long nanos) {
+        final Object[] listeners = mStateListeners;
+        if (listeners.length == 0) {
+            return;
+        }
+        final long millis = nanos / NANOS_PER_MILLI;
+        for (Object listener : listeners) {
+            ((StateListener) listener).onStateChanged(event, millis);
+        }
+    }
+
+    private static Object[] append(Object[] listeners, Object listener) {
+        Object[] update = new Object[listeners.length + 1];
+        System.arraycopy(listeners, 0, update, 0, listeners.length);
+        update[listeners.length] = listener;
+        return update;
+    }
+
+    /**
+     * 移除最后一次注册的同一实例，未注册时原样返回。
+     */
+    private static Object[] remove(Object[] listeners, Object listener) {
+        for (int i = listeners.length - 1; i >= 0; i--) {
+            if (listeners[i] == listener) {
+                if (listeners.length == 1) {
+                    return EMPTY;
+                }
+                Object[] update = new Object[listeners.length - 1];
+                System.arraycopy(listeners, 0, update, 0, i);
+                System.arraycopy(listeners, i + 1, update, i, listeners.length - i - 1);
+                return update;
+            }
+        }
+        return listeners;
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+
+/**
+ * 计时器未指定调度器和时间源时使用的平台默认值。
+ * <p>
+ * android-timer 模块提供 {@code AndroidTimerPlatform}（Handler + SystemClock），运行时通过反射发现；
+ * 找不到时说明运行在普通 JVM 上，使用 {@link ExecutorTickScheduler#getDefault()} 与 {@link TimeSource#MONOTONIC}。
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public abstract class TimerPlatform {
+    private static final String ANDROID_PLATFORM = "com.github.xesam.android.timer.AndroidTimerPlatform";
+
+    @NonNull
+    public static TimerPlatform get() {
+        return Holder.INSTANCE;
+    }
+
+    @NonNull
+    public abstract TickScheduler defaultScheduler();
+
+    /**
+     * 平台默认调度器的异步消息版本，tick 不受同步屏障阻塞；没有同步屏障的平台与 {@link #defaultScheduler()} 相同。
+     */
+    @NonNull
+    public TickScheduler defaultAsyncScheduler() {
+        return defaultScheduler();
+    }
+
+    @NonNull
+    public final TickScheduler defaultScheduler(boolean asynchronous) {
+        return asynchronous ? defaultAsyncScheduler() : defaultScheduler();
+    }
+
+    @NonNull
+    public abstract TimeSource defaultTimeSource();
+
+    static TimerPlatform load() {
+        try {
+            return (TimerPlatform) Class.forName(ANDROID_PLATFORM).getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return new JvmPlatform();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("无法创建 " + ANDROID_PLATFORM, e);
+        }
+    }
+
+    // 首次使用时才加载，类初始化保证线程安全
+    private static final class Holder {
+        static final TimerPlatform INSTANCE = load();
+    }
+
+    private static final class JvmPlatform extends TimerPlatform {
+        @NonNull
+        @Override
+        public TickScheduler defaultScheduler() {
+            return ExecutorTickScheduler.getDefault();
+        }
+
+        @NonNull
+        @Override
+        public TimeSource defaultTimeSource() {
+            return TimeSource.MONOTONIC;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.NonNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 计时器状态的定长二进制记录，用于跨进程重建计时器。
+ * <p>
+ * 所有时间点都保存为相对快照时刻的偏移，同时记录快照时的时间源读数与墙上时间：
+ * 恢复时先算出快照之后经过的时间，再把偏移平移到当前时间源上，不需要重放 tick。
+ * 时间源读数与墙上时间推算出的“开机时刻”变化超过 {@link #REBOOT_THRESHOLD_MILLIS} 时视为设备已重启，
+ * elapsedRealtime 已经归零，改用墙上时间的差值。
+ * <p>
+ * 布局（大端序，共 {@link #SIZE} 字节）：
+ * <pre>
+ * int  magic          'ATS' + 版本号
+ * byte kind           {@link #KIND_TIMER} / {@link #KIND_COUNT_DOWN}
+ * byte status         TimerStatus
+ * short 保留
+ * long intervalNanos
+ * long durationNanos  AndroidTimer 为 0
+ * long anchorNanos    快照时的时间源读数
+ * long anchorWallMillis
+ * long startedOffset  以下均为相对 anchorNanos 的偏移
+ * long pausedOffset   仅 PAUSED 有效
+ * long pausedTotalNanos
+ * long nextTickOffset
+ * long finishOffset   仅 CountDownTimer 有效
+ * </pre>
+ */
+final class TimerSnapshot {
+    static final int SIZE = 4 + 4 + 9 * 8;
+    static final byte KIND_TIMER = 1;
+    static final byte KIND_COUNT_DOWN = 2;
+    static final long REBOOT_THRESHOLD_MILLIS = 5_000L;
+
+    private static final int MAGIC = 0x41545301; // "ATS" v1
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    final byte kind;
+    @TimerStatus.Enum
+    final int status;
+    final long intervalNanos;
+    final long durationNanos;
+    final long anchorNanos;
+    final long anchorWallMillis;
+    final long startedOffset;
+    final long pausedOffset;
+    final long pausedTotalNanos;
+    final long nextTickOffset;
+    final long finishOffset;
+
+    TimerSnapshot(byte kind, @TimerStatus.Enum int status, long intervalNanos, long durationNanos,
+                  long anchorNanos, long anchorWallMillis, long startedOffset, long pausedOffset,
+                  long pausedTotalNanos, long nextTickOffset, long finishOffset) {
+        this.kind = kind;
+        this.status = status;
+        this.intervalNanos = intervalNanos;
+        this.durationNanos = durationNanos;
+        this.anchorNanos = anchorNanos;
+        this.anchorWallMillis = anchorWallMillis;
+        this.startedOffset = startedOffset;
+        this.pausedOffset = pausedOffset;
+        this.pausedTotalNanos = pausedTotalNanos;
+        this.nextTickOffset = nextTickOffset;
+        this.finishOffset = finishOffset;
+    }
+
+    @NonNull
+    byte[] toByteArray() {
+        return ByteBuffer.allocate(SIZE)
+                .putInt(MAGIC)
+                .put(kind)
+                .put((byte) status)
+                .putShort((short) 0)
+                .putLong(intervalNanos)
+                .putLong(durationNanos)
+                .putLong(anchorNanos)
+                .putLong(anchorWallMillis)
+                .putLong(startedOffset)
+                .putLong(pausedOffset)
+                .putLong(pausedTotalNanos)
+                .putLong(nextTickOffset)
+                .putLong(finishOffset)
+                .array();
+    }
+
+    /**
+     * @throws IllegalArgumentException 长度、魔数、类型或状态不合法
+     */
+    @NonNull
+    static TimerSnapshot fromByteArray(@NonNull byte[] bytes, byte expectedKind) {
+        if (bytes.length != SIZE) {
+            throw new IllegalArgumentException("快照长度不正确: " + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("不是计时器快照或版本不兼容");
+        }
+        byte kind = buffer.get();
+        if (kind != expectedKind) {
+            throw new IllegalArgumentException("快照类型不匹配");
+        }
+        int status = buffer.get();
+        if (status != TimerStatus.IDLE && status != TimerStatus.RUNNING && status != TimerStatus.PAUSED) {
+            throw new IllegalArgumentException("快照状态不合法: " + status);
+        }
+        buffer.getShort();
+        return new TimerSnapshot(kind, status, buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong(),
+                buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * 快照时刻在当前时间源上的读数，恢复时把各偏移加上它即可。
+     */
+    long rebase(long nowNanos, long nowWallMillis) {
+        return nowNanos - elapsedSince(anchorNanos, anchorWallMillis, nowNanos, nowWallMillis);
+    }
+
+    /**
+     * 快照之后经过的纳秒数。同一次开机内以时间源为准，不受 NTP 等小幅校时影响；
+     * 跨重启（或时间源不跨进程，如 JVM 上的 {@link TimeSource#MONOTONIC}）时退回墙上时间，不小于 0。
+     */
+    static long elapsedSince(long anchorNanos, long anchorWallMillis, long nowNanos, long nowWallMillis) {
+        long elapsedNanos = nowNanos - anchorNanos;
+        long bootDriftMillis = (nowWallMillis - anchorWallMillis) - elapsedNanos / NANOS_PER_MILLI;
+        if (elapsedNanos >= 0 && Math.abs(bootDriftMillis) <= REBOOT_THRESHOLD_MILLIS) {
+            return elapsedNanos;
+        }
+        return Math.max(0, nowWallMillis - anchorWallMillis) * NANOS_PER_MILLI;
+    }
+}
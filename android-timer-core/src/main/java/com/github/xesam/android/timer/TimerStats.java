@@ -0,0 +1,75 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.NonNull;
+
+/**
+ * 计时器的运行统计快照：tick 的派发延迟（实际派发时间减去预定时间）、onTick 回调耗时，以及追赶时跳过的间隔数。
+ * <p>
+ * 需要通过 {@code Option.Builder#setStatsEnabled(true)} 开启；未开启时 {@code getStats()} 返回 {@link #EMPTY}。
+ * 延迟与耗时记录在对数分桶直方图中，百分位按所在桶的上界报告，相对误差不超过 25%，最大值精确。
+ * <pre>
+ * TimerStats stats = timer.getStats();
+ * long p99 = stats.getLatenessNanos(99);
+ * </pre>
+ */
+public final class TimerStats {
+    public static final TimerStats EMPTY = new TimerStats(new LogHistogram(), new LogHistogram(), 0);
+
+    private final LogHistogram mLateness;
+    private final LogHistogram mCallback;
+    private final long mSkippedIntervals;
+
+    TimerStats(LogHistogram lateness, LogHistogram callback, long skippedIntervals) {
+        mLateness = lateness;
+        mCallback = callback;
+        mSkippedIntervals = skippedIntervals;
+    }
+
+    /**
+     * 已记录派发延迟的 tick 次数（不含 tickWhenStart 触发的 tick）。
+     */
+    public long getTickCount() {
+        return mLateness.count();
+    }
+
+    /**
+     * 因调度线程阻塞而跳过的间隔总数。
+     */
+    public long getSkippedIntervals() {
+        return mSkippedIntervals;
+    }
+
+    /**
+     * @param percentile 0 到 100，例如 50、99
+     * @return 派发延迟的百分位（纳秒），没有记录时为 0
+     */
+    public long getLatenessNanos(double percentile) {
+        return mLateness.valueAtPercentile(percentile);
+    }
+
+    public long getMaxLatenessNanos() {
+        return mLateness.max();
+    }
+
+    /**
+     * @param percentile 0 到 100，例如 50、99
+     * @return onTick 回调耗时的百分位（纳秒），没有记录时为 0
+     */
+    public long getCallbackNanos(double percentile) {
+        return mCallback.valueAtPercentile(percentile);
+    }
+
+    public long getMaxCallbackNanos() {
+        return mCallback.max();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "TimerStats{ticks=" + getTickCount()
+                + ", skipped=" + mSkippedIntervals
+                + ", lateness p50/p99/max=" + getLatenessNanos(50) + "/" + getLatenessNanos(99) + "/" + getMaxLatenessNanos()
+                + "ns, callback p50/p99/max=" + getCallbackNanos(50) + "/" + getCallbackNanos(99) + "/" + getMaxCallbackNanos()
+                + "ns}";
+    }
+}
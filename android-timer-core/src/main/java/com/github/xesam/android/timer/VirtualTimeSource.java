@@ -0,0 +1,179 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 手动推进的虚拟时钟，同时也是一个 {@link TickScheduler}：到期的 Entry 在 {@link #advance} 时按截止时间顺序执行。
+ * <p>
+ * 把同一个实例同时作为时间源和调度器，计时器即可脱离 Looper 在普通 JVM 上运行，
+ * 用于基准测试或快速回放大量状态迁移：
+ * <pre>
+ * VirtualTimeSource clock = new VirtualTimeSource();
+ * AndroidTimer timer = new AndroidTimer(1000L, new AndroidTimer.Option.Builder()
+ *         .setTimeSource(clock)
+ *         .setScheduler(clock)
+ *         .build());
+ * timer.start();
+ * clock.advance(10, TimeUnit.SECONDS); // 同步触发 10 次 onTick
+ * </pre>
+ * speed 大于 0 时虚拟时间还会随真实时间按倍率流逝（例如 10 表示十倍速），
+ * 这部分流逝不会自动触发 Entry，需要调用 {@link #runDue()} 或 {@link #advance}。
+ */
+public final class VirtualTimeSource implements TimeSource, TickScheduler {
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final TimeSource mBase;
+    private final DeadlineQueue<VirtualEntry> mQueue = new DeadlineQueue<>();
+    // 最近一次锚定时的虚拟时间与真实时间
+    private long mVirtualAnchor;
+    private long mBaseAnchor;
+    private double mSpeed = 0;
+    private final long mWallAnchor;
+
+    public VirtualTimeSource() {
+        this(0L);
+    }
+
+    /**
+     * @param startNanos 虚拟时钟的初始读数
+     */
+    public VirtualTimeSource(long startNanos) {
+        this(startNanos, TimeSource.MONOTONIC);
+    }
+
+    /**
+     * @param base speed 大于 0 时用于驱动虚拟时间流逝的真实时钟
+     */
+    public VirtualTimeSource(long startNanos, @NonNull TimeSource base) {
+        mBase = base;
+        mVirtualAnchor = startNanos;
+        mBaseAnchor = base.nanoTime();
+        mWallAnchor = System.currentTimeMillis() - startNanos / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public synchronized long nanoTime() {
+        if (mSpeed == 0) {
+            return mVirtualAnchor;
+        }
+        return mVirtualAnchor + (long) ((mBase.nanoTime() - mBaseAnchor) * mSpeed);
+    }
+
+    /**
+     * 随虚拟时间流逝的墙上时间，以构造时的系统时间为起点。
+     */
+    @Override
+    public long currentTimeMillis() {
+        return mWallAnchor + nanoTime() / NANOS_PER_MILLI;
+    }
+
+    /**
+     * @param speed 虚拟时间相对真实时间的流逝倍率，0 表示完全手动推进
+     */
+    public synchronized void setSpeed(double speed) {
+        if (speed < 0 || Double.isNaN(speed) || Double.isInfinite(speed)) {
+            throw new IllegalArgumentException("倍率必须是非负有限数");
+        }
+        reanchorLocked();
+        mSpeed = speed;
+    }
+
+    public synchronized double getSpeed() {
+        return mSpeed;
+    }
+
+    /**
+     * 推进虚拟时间，并在调用线程上依次执行期间到期的 Entry。执行每个 Entry 时时钟恰好停在它的截止时间。
+     */
+    public void advance(long duration, @NonNull TimeUnit unit) {
+        if (duration < 0) {
+            throw new IllegalArgumentException("推进时长不能为负数");
+        }
+        long target;
+        synchronized (this) {
+            reanchorLocked();
+            target = mVirtualAnchor + unit.toNanos(duration);
+        }
+        runUntil(target);
+    }
+
+    /**
+     * 执行当前时间已到期的 Entry，不推进时间。
+     */
+    public void runDue() {
+        long target;
+        synchronized (this) {
+            reanchorLocked();
+            target = mVirtualAnchor;
+        }
+        runUntil(target);
+    }
+
+    /**
+     * 尚未触发的 Entry 数量。
+     */
+    public synchronized int pendingCount() {
+        return mQueue.size();
+    }
+
+    private void runUntil(long target) {
+        while (true) {
+            VirtualEntry due;
+            synchronized (this) {
+                due = mQueue.peek();
+                if (due == null || due.deadline > target) {
+                    break;
+                }
+                mQueue.poll();
+                reanchorLocked();
+                mVirtualAnchor = Math.max(mVirtualAnchor, due.deadline);
+            }
+            // 动作在锁外执行，可能重新调度自身；新的到期项同样会在本轮执行
+            due.mAction.run();
+        }
+        synchronized (this) {
+            reanchorLocked();
+            mVirtualAnchor = Math.max(mVirtualAnchor, target);
+        }
+    }
+
+    private void reanchorLocked() {
+        long base = mBase.nanoTime();
+        if (mSpeed != 0) {
+            mVirtualAnchor += (long) ((base - mBaseAnchor) * mSpeed);
+        }
+        mBaseAnchor = base;
+    }
+
+    @NonNull
+    @Override
+    public Entry newEntry(@NonNull Runnable action) {
+        return new VirtualEntry(action);
+    }
+
+    private final class VirtualEntry extends DeadlineQueue.Node implements Entry {
+        private final Runnable mAction;
+
+        VirtualEntry(Runnable action) {
+            mAction = action;
+        }
+
+        @Override
+        public void schedule(long delayMillis) {
+            synchronized (VirtualTimeSource.this) {
+                mQueue.remove(this);
+                this.deadline = nanoTime() + Math.max(0, delayMillis) * NANOS_PER_MILLI;
+                mQueue.add(this);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (VirtualTimeSource.this) {
+                mQueue.remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.github.xesam.android.timer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+// 第一次 onTick 阻塞 350ms（间隔 100ms），观察各追赶策略下后续 tick 的时间点
+public class CatchUpPolicyTest {
+    private final VirtualTimeSource mClock = new VirtualTimeSource();
+    private final List<Long> mTickAt = new ArrayList<>();
+    private final List<Long> mMissed = new ArrayList<>();
+
+    private AndroidTimer newTimer(AndroidTimer.Option.Builder builder, final long stallMillis) {
+        return new AndroidTimer(100L, builder.setTimeSource(mClock).setScheduler(mClock).build()) {
+            @Override
+            protected void onTick(long millisFly) {
+                mTickAt.add(TimeUnit.NANOSECONDS.toMillis(mClock.nanoTime()));
+                if (mTickAt.size() == 1) {
+                    mClock.advance(stallMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+
+            @Override
+            protected void onMissedTicks(long missedTicks) {
+                mMissed.add(missedTicks);
+            }
+        };
+    }
+
+    private void runTo600(AndroidTimer timer) {
+        timer.start();
+        mClock.advance(600, TimeUnit.MILLISECONDS);
+        timer.cancel();
+    }
+
+    @Test
+    public void testSkip_shouldJumpToNextFutureTick() {
+        runTo600(newTimer(new AndroidTimer.Option.Builder(), 350L));
+        assertEquals(3, mTickAt.size());
+        assertEquals(Long.valueOf(500L), mTickAt.get(1));
+        assertEquals(1, mMissed.size());
+        assertEquals(Long.valueOf(3L), mMissed.get(0)); // 200、300、400
+    }
+
+    @Test
+    public void testCoalesce_shouldFireOnceImmediately() {
+        runTo600(newTimer(new AndroidTimer.Option.Builder().setCatchUpPolicy(CatchUpPolicy.COALESCE), 350L));
+        assertEquals(4, mTickAt.size());
+        assertEquals(Long.valueOf(450L), mTickAt.get(1));
+        assertEquals(Long.valueOf(500L), mTickAt.get(2));
+        assertEquals(Long.valueOf(2L), mMissed.get(0)); // 200、300 并入 400
+    }
+
+    @Test
+    public void testBurst_shouldReplayEveryMissedTick() {
+        runTo600(newTimer(new AndroidTimer.Option.Builder().setCatchUpPolicy(CatchUpPolicy.BURST), 350L));
+        assertEquals(6, mTickAt.size());
+        assertEquals(Long.valueOf(450L), mTickAt.get(1));
+        assertEquals(Long.valueOf(450L), mTickAt.get(3));
+        assertEquals(Long.valueOf(500L), mTickAt.get(4));
+        assertTrue(mMissed.isEmpty());
+    }
+
+    @Test
+    public void testFixedDelay_shouldWaitIntervalAfterCallback() {
+        runTo600(newTimer(new AndroidTimer.Option.Builder().setFixedDelay(true), 350L));
+        assertEquals(2, mTickAt.size());
+        assertEquals(Long.valueOf(550L), mTickAt.get(1));
+        assertTrue(mMissed.isEmpty());
+    }
+
+    @Test
+    public void testLongStall_shouldComputeMissedCountDirectly() {
+        AndroidTimer timer = new AndroidTimer(1L, new AndroidTimer.Option.Builder()
+                .setTimeSource(mClock).setScheduler(mClock).build()) {
+            @Override
+            protected void onTick(long millisFly) {
+                if (mTickAt.isEmpty()) {
+                    mTickAt.add(millisFly);
+                    mClock.advance(1, TimeUnit.HOURS);
+                }
+            }
+
+            @Override
+            protected void onMissedTicks(long missedTicks) {
+                mMissed.add(missedTicks);
+            }
+        };
+        timer.start();
+        mClock.advance(1, TimeUnit.MILLISECONDS);
+        timer.cancel();
+        // 2ms 到 3600000ms 之间的时间点全部错过，下一次落在 3600001ms
+        assertEquals(Long.valueOf(TimeUnit.HOURS.toMillis(1) - 1), mMissed.get(0));
+    }
+
+    @Test
+    public void testCountDownTimer_shouldReportMissedTicks() {
+        final List<Long> missed = new ArrayList<>();
+        final int[] finishes = {0};
+        CountDownTimer timer = new CountDownTimer(1000L, 100L, new CountDownTimer.Option.Builder()
+                .setTimeSource(mClock)
+                .setScheduler(mClock)
+                .setCatchUpPolicy(CatchUpPolicy.COALESCE)
+                .build()) {
+            @Override
+            protected void onTick(long millisUntilFinished) {
+                if (millisUntilFinished == 900L) {
+                    mClock.advance(350, TimeUnit.MILLISECONDS);
+                }
+            }
+
+            @Override
+            protected void onMissedTicks(long missedTicks) {
+                missed.add(missedTicks);
+            }
+
+            @Override
+            protected void onFinish(long millisDuration) {
+                finishes[0]++;
+            }
+        };
+        timer.start();
+        mClock.advance(2, TimeUnit.SECONDS);
+        assertEquals(1, finishes[0]);
+        assertEquals(1, missed.size());
+        assertEquals(Long.valueOf(2L), missed.get(0));
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.xesam.android.timer;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+// 多个线程并发 pause/resume，同时调度线程持续派发 tick，验证 CAS 迁移后调度仍与最终状态一致
+public class ConcurrentTransitionTest {
+    private static final int THREADS = 4;
+    private static final int ROUNDS = 5_000;
+
+    private static void hammer(final Runnable transitions) throws InterruptedException {
+        Thread[] threads = new Thread[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            threads[i] = new Thread(() -> {
+                for (int round = 0; round < ROUNDS; round++) {
+                    transitions.run();
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    @Test
+    public void testAndroidTimer_shouldKeepTickingAfterConcurrentTransitions() throws Exception {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final AtomicInteger ticks = new AtomicInteger();
+            final AtomicInteger starts = new AtomicInteger();
+            final AtomicInteger cancels = new AtomicInteger();
+            final AndroidTimer timer = new AndroidTimer(1L, new AndroidTimer.Option.Builder()
+                    .setScheduler(new ExecutorTickScheduler(executor))
+                    .setTimeSource(TimeSource.MONOTONIC)
+                    .build()) {
+                @Override
+                protected void onStart(long millisFly) {
+                    starts.incrementAndGet();
+                }
+
+                @Override
+                protected void onCancel(long millisFly) {
+                    cancels.incrementAndGet();
+                }
+
+                @Override
+                protected void onTick(long millisFly) {
+                    ticks.incrementAndGet();
+                }
+            };
+            timer.start();
+            hammer(() -> {
+                timer.pause();
+                timer.resume();
+                if (Thread.currentThread().getId() % 2 == 0) {
+                    timer.cancel();
+                    timer.start();
+                }
+            });
+            timer.resume();
+            timer.start();
+            assertEquals(TimerStatus.RUNNING, timer.getState());
+            // 只有成功的迁移才回调：每次 cancel 之前都有一次 start，且最后一次 start 之后没有 cancel
+            assertTrue(cancels.get() < starts.get());
+
+            int before = ticks.get();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (ticks.get() < before + 5 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertTrue(ticks.get() >= before + 5);
+
+            timer.cancel();
+            int afterCancel = ticks.get();
+            Thread.sleep(50);
+            // 取消前已被认领的 tick 最多还会派发一次
+            assertTrue(ticks.get() - afterCancel <= 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCountDownTimer_shouldFinishExactlyOnce() throws Exception {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final AtomicInteger finishes = new AtomicInteger();
+            final CountDownLatch finished = new CountDownLatch(1);
+            final CountDownTimer timer = new CountDownTimer(200L, 1L, new CountDownTimer.Option.Builder()
+                    .setScheduler(new ExecutorTickScheduler(executor))
+                    .setTimeSource(TimeSource.MONOTONIC)
+                    .build()) {
+                @Override
+                protected void onFinish(long millisDuration) {
+                    finishes.incrementAndGet();
+                    finished.countDown();
+                }
+            };
+            timer.start();
+            hammer(() -> {
+                timer.pause();
+                timer.resume();
+            });
+            timer.resume();
+            assertTrue(finished.await(5, TimeUnit.SECONDS));
+            Thread.sleep(20);
+            assertEquals(1, finishes.get());
+            assertEquals(TimerStatus.IDLE, timer.getState());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
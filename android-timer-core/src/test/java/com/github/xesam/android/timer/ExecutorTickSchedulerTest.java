@@ -0,0 +1,65 @@
+package com.github.xesam.android.timer;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+// 真实线程池调度，不依赖 Looper
+public class ExecutorTickSchedulerTest {
+
+    @Test
+    public void testCountDownTimer_shouldFinishOnExecutorThread() throws Exception {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final CountDownLatch finished = new CountDownLatch(1);
+            final AtomicInteger ticks = new AtomicInteger();
+            CountDownTimer timer = new CountDownTimer(100L, 20L, new CountDownTimer.Option.Builder()
+                    .setScheduler(new ExecutorTickScheduler(executor))
+                    .setTimeSource(TimeSource.MONOTONIC)
+                    .build()) {
+                @Override
+                protected void onTick(long millisUntilFinished) {
+                    ticks.incrementAndGet();
+                }
+
+                @Override
+                protected void onFinish(long millisDuration) {
+                    finished.countDown();
+                }
+            };
+            timer.start();
+            assertTrue(finished.await(5, TimeUnit.SECONDS));
+            assertTrue(ticks.get() > 0);
+            assertEquals(TimerStatus.IDLE, timer.getState());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCancel_shouldNotFire() throws Exception {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final AtomicInteger fired = new AtomicInteger();
+            TickScheduler scheduler = new ExecutorTickScheduler(executor, Runnable::run);
+            TickScheduler.Entry cancelled = scheduler.newEntry(fired::incrementAndGet);
+            cancelled.schedule(10L);
+            cancelled.cancel();
+
+            final CountDownLatch done = new CountDownLatch(1);
+            TickScheduler.Entry entry = scheduler.newEntry(done::countDown);
+            entry.schedule(1000L);
+            entry.schedule(30L); // 替换未触发的任务
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertEquals(0, fired.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.github.xesam.android.timer;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SlackQueueTest {
+
+    @Test
+    public void testOverlappingWindows_shouldShareOneWakeup() {
+        SlackQueue<SlackQueue.Node> queue = new SlackQueue<>();
+        SlackQueue.Node relaxed = new SlackQueue.Node();
+        SlackQueue.Node exact = new SlackQueue.Node();
+        SlackQueue.Node later = new SlackQueue.Node();
+        queue.add(relaxed, 100L, 20L);
+        queue.add(exact, 105L, 0L);
+        queue.add(later, 130L, 50L);
+
+        // 唤醒时间是最早的最晚截止时间
+        assertEquals(105L, queue.nextWakeup());
+        assertSame(relaxed, queue.pollDue(105L));
+        assertSame(exact, queue.pollDue(105L));
+        assertNull(queue.pollDue(105L));
+        assertEquals(180L, queue.nextWakeup());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testReAddAndRemove_shouldKeepBothOrdersConsistent() {
+        SlackQueue<SlackQueue.Node> queue = new SlackQueue<>();
+        SlackQueue.Node first = new SlackQueue.Node();
+        SlackQueue.Node second = new SlackQueue.Node();
+        queue.add(first, 10L, 100L);
+        queue.add(second, 50L, 0L);
+        assertEquals(50L, queue.nextWakeup());
+
+        queue.add(second, 200L, 0L);
+        assertEquals(110L, queue.nextWakeup());
+        queue.remove(first);
+        assertEquals(200L, queue.nextWakeup());
+        assertNull(queue.pollDue(199L));
+        queue.remove(second);
+        assertTrue(queue.isEmpty());
+        assertEquals(Long.MAX_VALUE, queue.nextWakeup());
+    }
+}
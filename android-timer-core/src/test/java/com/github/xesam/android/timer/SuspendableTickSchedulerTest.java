@@ -0,0 +1,75 @@
+package com.github.xesam.android.timer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class SuspendableTickSchedulerTest {
+
+    @Test
+    public void testResume_shouldFireEachPendingEntryOnce() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        SuspendableTickScheduler scheduler = new SuspendableTickScheduler(clock, clock);
+        final List<Integer> fired = new ArrayList<>();
+        List<TickScheduler.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final int id = i;
+            TickScheduler.Entry entry = scheduler.newEntry(() -> fired.add(id));
+            entry.schedule(100L * (i + 1));
+            entries.add(entry);
+        }
+        // 重复调度不重复入队，取消头、尾与中间的 Entry
+        entries.get(2).schedule(250L);
+        entries.get(0).cancel();
+        entries.get(2).cancel();
+        entries.get(4).cancel();
+        assertEquals(2, scheduler.pendingCount());
+
+        scheduler.suspend();
+        clock.advance(1, TimeUnit.SECONDS);
+        assertTrue(fired.isEmpty());
+        assertEquals(2, scheduler.pendingCount());
+
+        entries.get(4).schedule(0L);
+        scheduler.resume();
+        clock.runDue();
+        // 恢复时全部已过期，同一时刻触发的先后不作保证
+        Collections.sort(fired);
+        assertEquals(Arrays.asList(1, 3, 4), fired);
+        assertEquals(0, scheduler.pendingCount());
+
+        clock.advance(1, TimeUnit.SECONDS);
+        assertEquals(3, fired.size());
+    }
+
+    @Test
+    public void testRescheduleFromAction_shouldStayPending() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final SuspendableTickScheduler scheduler = new SuspendableTickScheduler(clock, clock);
+        final int[] fired = {0};
+        final TickScheduler.Entry[] self = new TickScheduler.Entry[1];
+        self[0] = scheduler.newEntry(() -> {
+            fired[0]++;
+            self[0].schedule(100L);
+        });
+        self[0].schedule(100L);
+        clock.advance(350, TimeUnit.MILLISECONDS);
+        assertEquals(3, fired[0]);
+        assertEquals(1, scheduler.pendingCount());
+
+        scheduler.suspend();
+        clock.advance(1, TimeUnit.SECONDS);
+        scheduler.resume();
+        clock.runDue();
+        assertEquals(4, fired[0]);
+        assertEquals(1, scheduler.pendingCount());
+        self[0].cancel();
+        assertEquals(0, scheduler.pendingCount());
+    }
+}
@@ -0,0 +1,200 @@
+package com.github.xesam.android.timer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class ThreadConfinementTest {
+
+    private static Throwable runOnOtherThread(final Runnable action) throws InterruptedException {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread thread = new Thread(() -> {
+            try {
+                action.run();
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        });
+        thread.start();
+        thread.join();
+        return error.get();
+    }
+
+    private static AndroidTimer.Option confined(VirtualTimeSource clock, @ThreadConfinement.Enum int confinement) {
+        return new AndroidTimer.Option.Builder()
+                .setScheduler(clock)
+                .setTimeSource(clock)
+                .setThreadConfinement(confinement)
+                .build();
+    }
+
+    @Test
+    public void testConfinedTimer_shouldBehaveLikeDefaultOnOwnerThread() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final List<Long> ticks = new ArrayList<>();
+        AndroidTimer timer = new AndroidTimer(100L, confined(clock, ThreadConfinement.CONFINED)) {
+            @Override
+            protected void onTick(long millisFly) {
+                ticks.add(millisFly);
+                if (ticks.size() == 2) {
+                    pause();
+                }
+            }
+        };
+        timer.start();
+        clock.advance(500, TimeUnit.MILLISECONDS);
+        assertEquals(TimerStatus.PAUSED, timer.getState());
+        assertEquals(2, ticks.size());
+
+        timer.resume();
+        clock.advance(100, TimeUnit.MILLISECONDS);
+        assertEquals(3, ticks.size());
+        assertEquals(300L, (long) ticks.get(2));
+        timer.cancel();
+        assertEquals(TimerStatus.IDLE, timer.getState());
+    }
+
+    @Test
+    public void testConfinedTimer_shouldRejectTransitionsFromOtherThreads() throws Exception {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final AndroidTimer timer = new AndroidTimer(100L, confined(clock, ThreadConfinement.CONFINED));
+        timer.start();
+
+        assertTrue(runOnOtherThread(timer::pause) instanceof IllegalStateException);
+        assertTrue(runOnOtherThread(timer::cancel) instanceof IllegalStateException);
+        // 非严格模式只检查迁移，读取不检查
+        assertNull(runOnOtherThread(timer::getState));
+        assertEquals(TimerStatus.RUNNING, timer.getState());
+    }
+
+    @Test
+    public void testStrictConfinement_shouldRejectReadsFromOtherThreads() throws Exception {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final CountDownTimer timer = new CountDownTimer(1000L, 100L, new CountDownTimer.Option.Builder()
+                .setScheduler(clock)
+                .setTimeSource(clock)
+                .setThreadConfinement(ThreadConfinement.CONFINED_STRICT)
+                .build());
+        timer.start();
+
+        assertTrue(runOnOtherThread(timer::getState) instanceof IllegalStateException);
+        assertTrue(runOnOtherThread(timer::pause) instanceof IllegalStateException);
+        clock.advance(1, TimeUnit.SECONDS);
+        assertEquals(TimerStatus.IDLE, timer.getState());
+    }
+
+    @Test
+    public void testConfinedTimer_shouldBindOwnerOnFirstStart() throws Exception {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final AtomicReference<AndroidTimer> ref = new AtomicReference<>();
+        assertNull(runOnOtherThread(() -> ref.set(new AndroidTimer(100L, confined(clock, ThreadConfinement.CONFINED_STRICT)))));
+        final AndroidTimer timer = ref.get();
+        // 绑定之前任意线程都可以读取
+        assertNull(runOnOtherThread(timer::getState));
+
+        timer.start();
+        clock.advance(250, TimeUnit.MILLISECONDS);
+        assertEquals(TimerStatus.RUNNING, timer.getState());
+        assertTrue(runOnOtherThread(timer::getState) instanceof IllegalStateException);
+        assertTrue(runOnOtherThread(timer::cancel) instanceof IllegalStateException);
+        timer.cancel();
+    }
+
+    @Test
+    public void testConfinedTimer_shouldPublishStateToOtherThreads() throws Exception {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final AndroidTimer timer = new AndroidTimer(100L, confined(clock, ThreadConfinement.CONFINED));
+        timer.start();
+        clock.advance(250, TimeUnit.MILLISECONDS);
+        timer.pause();
+
+        final AtomicReference<Integer> seen = new AtomicReference<>();
+        assertNull(runOnOtherThread(() -> seen.set(timer.getState())));
+        assertEquals(TimerStatus.PAUSED, (int) seen.get());
+        timer.cancel();
+    }
+
+    @Test
+    public void testConfinedTimer_shouldBindSchedulerDispatchThread() throws Exception {
+        final VirtualTimeSource clock = new VirtualTimeSource();
+        final Thread dispatcher = new Thread(() -> {
+        }, "dispatcher");
+        TickScheduler scheduler = action -> {
+            final TickScheduler.Entry entry = clock.newEntry(action);
+            return new TickScheduler.Entry() {
+                @Override
+                public void schedule(long delayMillis) {
+                    entry.schedule(delayMillis);
+                }
+
+                @Override
+                public void cancel() {
+                    entry.cancel();
+                }
+
+                @Override
+                public Thread getDispatchThread() {
+                    return dispatcher;
+                }
+            };
+        };
+        final AndroidTimer timer = new AndroidTimer(100L, new AndroidTimer.Option.Builder()
+                .setScheduler(scheduler)
+                .setTimeSource(clock)
+                .setThreadConfinement(ThreadConfinement.CONFINED)
+                .build());
+        // 调度器报告了派发线程，第一次 start 不在该线程上时不会把调用线程误绑定为所属线程
+        assertThrows(IllegalStateException.class, timer::start);
+        assertThrows(IllegalStateException.class, timer::start);
+        assertEquals(TimerStatus.IDLE, timer.getState());
+    }
+
+    @Test
+    public void testConfinedRetime_shouldRescheduleDirectly() {
+        final VirtualTimeSource clock = new VirtualTimeSource();
+        final int[] schedules = {0};
+        TickScheduler scheduler = action -> {
+            final TickScheduler.Entry entry = clock.newEntry(action);
+            return new TickScheduler.Entry() {
+                @Override
+                public void schedule(long delayMillis) {
+                    schedules[0]++;
+                    entry.schedule(delayMillis);
+                }
+
+                @Override
+                public void cancel() {
+                    entry.cancel();
+                }
+            };
+        };
+        final List<Long> ticks = new ArrayList<>();
+        CountDownTimer timer = new CountDownTimer(10_000L, 1000L, new CountDownTimer.Option.Builder()
+                .setScheduler(scheduler)
+                .setTimeSource(clock)
+                .setThreadConfinement(ThreadConfinement.CONFINED)
+                .build()) {
+            @Override
+            protected void onTick(long millisUntilFinished) {
+                ticks.add(millisUntilFinished);
+            }
+        };
+        timer.start();
+        clock.advance(500, TimeUnit.MILLISECONDS);
+        schedules[0] = 0;
+        // 第一次 tick 之前也不投递立即触发，每次修改直接按新时间点调度
+        timer.addTime(30_000L);
+        timer.addTime(-1000L);
+        assertEquals(2, schedules[0]);
+        clock.runDue();
+        assertEquals(2, schedules[0]);
+        clock.advance(500, TimeUnit.MILLISECONDS);
+        assertEquals(1, ticks.size());
+        assertEquals(38_000L, (long) ticks.get(0));
+    }
+}
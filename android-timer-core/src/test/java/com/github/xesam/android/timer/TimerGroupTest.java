@@ -0,0 +1,181 @@
+package com.github.xesam.android.timer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TimerGroupTest {
+
+    @Test
+    public void testPauseGroup_shouldFreezeAllMembersWithoutCallbacks() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        TimerGroup group = new TimerGroup(clock, clock);
+        final int[] pauses = {0};
+        final int[] finishes = {0};
+        final long[] lastLeft = new long[300];
+        final List<CountDownTimer> timers = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            final int index = i;
+            CountDownTimer timer = new CountDownTimer(60_000L + i, 1000L, new CountDownTimer.Option.Builder()
+                    .setGroup(group)
+                    .build()) {
+                @Override
+                protected void onTick(long millisUntilFinished) {
+                    lastLeft[index] = millisUntilFinished;
+                }
+
+                @Override
+                protected void onPause(long millisUntilFinished) {
+                    pauses[0]++;
+                }
+
+                @Override
+                protected void onFinish(long millisDuration) {
+                    finishes[0]++;
+                }
+            };
+            timer.start();
+            timers.add(timer);
+        }
+        // 300 个成员只在底层调度器上占用一个调度
+        assertEquals(1, clock.pendingCount());
+        assertEquals(300, group.size());
+
+        clock.advance(10, TimeUnit.SECONDS);
+        group.pause();
+        assertTrue(group.isPaused());
+        assertEquals(0, clock.pendingCount());
+
+        clock.advance(10, TimeUnit.MINUTES);
+        assertEquals(0, pauses[0]);
+        for (int i = 0; i < timers.size(); i++) {
+            assertEquals(TimerStatus.RUNNING, timers.get(i).getState());
+            assertEquals(50_000L + i, lastLeft[i]);
+        }
+
+        group.resume();
+        assertEquals(1, clock.pendingCount());
+        clock.advance(1, TimeUnit.SECONDS);
+        // 暂停的 10 分钟不计入剩余时间
+        for (int i = 0; i < timers.size(); i++) {
+            assertEquals(49_000L + i, lastLeft[i]);
+        }
+        clock.advance(48_999L, TimeUnit.MILLISECONDS);
+        assertEquals(0, finishes[0]);
+        clock.advance(300L, TimeUnit.MILLISECONDS);
+        assertEquals(300, finishes[0]);
+        assertEquals(0, group.size());
+    }
+
+    @Test(timeout = 5000)
+    public void testClockRead_shouldNotTakeGroupLock() throws Exception {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final TimerGroup group = new TimerGroup(clock, clock);
+        clock.advance(1000L, TimeUnit.MILLISECONDS);
+        group.pause();
+        clock.advance(500L, TimeUnit.MILLISECONDS);
+        group.resume();
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        // 另一个线程持有组的锁期间，读组时钟不被阻塞
+        Thread holder = new Thread(() -> {
+            synchronized (group) {
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            }
+        });
+        holder.start();
+        locked.await();
+        try {
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(1000L), group.nanoTime());
+            assertFalse(group.isPaused());
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    @Test
+    public void testMembers_shouldTickOnGroupClock() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        TimerGroup group = new TimerGroup(clock, clock);
+        final List<Long> ticks = new ArrayList<>();
+        AndroidTimer timer = new AndroidTimer(100L, new AndroidTimer.Option.Builder()
+                .setGroup(group)
+                .build()) {
+            @Override
+            protected void onTick(long millisFly) {
+                ticks.add(millisFly);
+            }
+        };
+        timer.start();
+        clock.advance(250, TimeUnit.MILLISECONDS);
+        group.pause();
+        clock.advance(1, TimeUnit.SECONDS);
+        assertEquals(2, ticks.size());
+
+        // 组暂停期间成员自身的迁移照常生效，恢复后按组时钟继续
+        timer.pause();
+        timer.resume();
+        group.resume();
+        clock.advance(50, TimeUnit.MILLISECONDS);
+        assertEquals(3, ticks.size());
+        assertEquals(300L, (long) ticks.get(2));
+        timer.cancel();
+        assertEquals(0, group.size());
+    }
+
+    private static int countWakeups(long toleranceMillis, final List<Long> lateness) {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final int[] wakeups = {0};
+        // 统计组在底层调度器上的唤醒次数
+        TickScheduler counting = action -> clock.newEntry(() -> {
+            wakeups[0]++;
+            action.run();
+        });
+        TimerGroup group = new TimerGroup(counting, clock);
+        for (int i = 0; i < 10; i++) {
+            final long startedAt = i * 3L;
+            AndroidTimer timer = new AndroidTimer(1000L, new AndroidTimer.Option.Builder()
+                    .setGroup(group)
+                    .setTolerance(toleranceMillis, TimeUnit.MILLISECONDS)
+                    .build()) {
+                @Override
+                protected void onTick(long millisFly) {
+                    lateness.add(millisFly % 1000L);
+                }
+            };
+            timer.start();
+            clock.advance(3, TimeUnit.MILLISECONDS);
+        }
+        // 覆盖最后一秒的容差窗口
+        clock.advance(60_100L, TimeUnit.MILLISECONDS);
+        return wakeups[0];
+    }
+
+    @Test
+    public void testTolerance_shouldCoalesceNearbyDeadlinesWithoutDrift() {
+        List<Long> exactLateness = new ArrayList<>();
+        List<Long> relaxedLateness = new ArrayList<>();
+        int exact = countWakeups(0L, exactLateness);
+        int relaxed = countWakeups(50L, relaxedLateness);
+
+        assertEquals(600, exactLateness.size());
+        assertEquals(600, relaxedLateness.size());
+        assertEquals(600, exact);
+        // 相差 3ms 的 10 个截止时间合并为每秒一次唤醒
+        assertEquals(60, relaxed);
+        for (long late : relaxedLateness) {
+            // 以启动时刻为基准，每次推迟都不超过容差，不会累积
+            assertTrue(late <= 50L);
+        }
+    }
+}
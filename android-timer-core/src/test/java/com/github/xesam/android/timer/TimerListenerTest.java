@@ -0,0 +1,92 @@
+package com.github.xesam.android.timer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TimerListenerTest {
+
+    @Test
+    public void testTickListeners_shouldRunAfterOnTickInRegistrationOrder() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final List<String> calls = new ArrayList<>();
+        AndroidTimer timer = new AndroidTimer(100L, new AndroidTimer.Option.Builder()
+                .setScheduler(clock)
+                .setTimeSource(clock)
+                .build()) {
+            @Override
+            protected void onTick(long millisFly) {
+                calls.add("onTick " + millisFly);
+            }
+        };
+        TickListener label = millis -> calls.add("label " + millis);
+        timer.addTickListener(label);
+        timer.addTickListener(millis -> calls.add("analytics " + millis));
+        timer.start();
+        clock.advance(100, TimeUnit.MILLISECONDS);
+        assertEquals(3, calls.size());
+        assertEquals("onTick 100", calls.get(0));
+        assertEquals("label 100", calls.get(1));
+        assertEquals("analytics 100", calls.get(2));
+
+        timer.removeTickListener(label);
+        calls.clear();
+        clock.advance(100, TimeUnit.MILLISECONDS);
+        assertEquals(2, calls.size());
+        assertEquals("analytics 200", calls.get(1));
+    }
+
+    @Test
+    public void testStateListener_shouldReceiveEveryTransition() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        CountDownTimer timer = new CountDownTimer(1000L, 100L, new CountDownTimer.Option.Builder()
+                .setScheduler(clock)
+                .setTimeSource(clock)
+                .build());
+        final List<Integer> events = new ArrayList<>();
+        final List<Long> values = new ArrayList<>();
+        timer.addStateListener((event, millis) -> {
+            events.add(event);
+            values.add(millis);
+        });
+        timer.start();
+        clock.advance(250, TimeUnit.MILLISECONDS);
+        timer.pause();
+        timer.resume();
+        clock.advance(1, TimeUnit.SECONDS);
+
+        assertEquals(4, events.size());
+        assertEquals(TimerEvent.START, (int) events.get(0));
+        assertEquals(TimerEvent.PAUSE, (int) events.get(1));
+        assertEquals(TimerEvent.RESUME, (int) events.get(2));
+        assertEquals(TimerEvent.FINISH, (int) events.get(3));
+        assertEquals(1000L, (long) values.get(0));
+        assertEquals(750L, (long) values.get(1));
+        assertEquals(750L, (long) values.get(2));
+    }
+
+    @Test
+    public void testRemoveDuringDispatch_shouldTakeEffectFromNextTick() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final AndroidTimer timer = new AndroidTimer(100L, new AndroidTimer.Option.Builder()
+                .setScheduler(clock)
+                .setTimeSource(clock)
+                .build());
+        final int[] counts = new int[2];
+        final TickListener second = millis -> counts[1]++;
+        timer.addTickListener(millis -> {
+            counts[0]++;
+            timer.removeTickListener(second);
+        });
+        timer.addTickListener(second);
+        timer.start();
+        clock.advance(300, TimeUnit.MILLISECONDS);
+        // 派发遍历的是本次 tick 开始时的数组
+        assertEquals(3, counts[0]);
+        assertEquals(1, counts[1]);
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.xesam.android.timer;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+// 普通 JVM 上没有 AndroidTimerPlatform，计时器默认运行在共享的 ScheduledThreadPoolExecutor 上
+public class TimerPlatformTest {
+
+    @Test
+    public void testDefaults_shouldFallBackToJvm() {
+        assertSame(ExecutorTickScheduler.getDefault(), TimerPlatform.get().defaultScheduler());
+        assertSame(TimeSource.MONOTONIC, TimerPlatform.get().defaultTimeSource());
+    }
+
+    @Test
+    public void testCountDownTimer_shouldRunWithoutOption() throws Exception {
+        final CountDownLatch finished = new CountDownLatch(1);
+        final AtomicReference<String> finishThread = new AtomicReference<>();
+        CountDownTimer timer = new CountDownTimer(50L, 10L) {
+            @Override
+            protected void onFinish(long millisDuration) {
+                finishThread.set(Thread.currentThread().getName());
+                finished.countDown();
+            }
+        };
+        timer.start();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertEquals("android-timer", finishThread.get());
+    }
+
+    @Test
+    public void testAndroidTick_shouldRunWithoutScheduler() throws Exception {
+        final CountDownLatch fired = new CountDownLatch(1);
+        AndroidTick tick = new AndroidTick(10L) {
+            @Override
+            protected void onTick(AndroidTick thisInstance, int count) {
+                fired.countDown();
+            }
+        };
+        tick.tick();
+        assertTrue(fired.await(5, TimeUnit.SECONDS));
+        assertFalse(tick.isRunning());
+    }
+}
@@ -0,0 +1,156 @@
+package com.github.xesam.android.timer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TimerResetTest {
+
+    private static CountDownTimer.Option countDownOption(VirtualTimeSource clock) {
+        return new CountDownTimer.Option.Builder().setScheduler(clock).setTimeSource(clock).build();
+    }
+
+    @Test
+    public void testResetCountDown_shouldUseNewDurationAndInterval() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final List<Long> ticks = new ArrayList<>();
+        final int[] finishes = {0};
+        CountDownTimer timer = new CountDownTimer(10_000L, 1000L, countDownOption(clock)) {
+            @Override
+            protected void onTick(long millisUntilFinished) {
+                ticks.add(millisUntilFinished);
+            }
+
+            @Override
+            protected void onFinish(long millisDuration) {
+                finishes[0]++;
+            }
+        };
+        timer.start();
+        clock.advance(2500L, TimeUnit.MILLISECONDS);
+        timer.cancel();
+        ticks.clear();
+
+        timer.reset(3000L, 500L);
+        assertEquals(3000L, timer.getFutureDuration());
+        assertEquals(500L, timer.getInterval());
+        timer.start();
+        clock.advance(3000L, TimeUnit.MILLISECONDS);
+        assertEquals(5, ticks.size());
+        assertEquals(2500L, (long) ticks.get(0));
+        assertEquals(500L, (long) ticks.get(4));
+        assertEquals(1, finishes[0]);
+    }
+
+    @Test
+    public void testResetTimer_shouldUseNewInterval() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final List<Long> ticks = new ArrayList<>();
+        AndroidTimer timer = new AndroidTimer(1000L,
+                new AndroidTimer.Option.Builder().setScheduler(clock).setTimeSource(clock).build()) {
+            @Override
+            protected void onTick(long millisFly) {
+                ticks.add(millisFly);
+            }
+        };
+        timer.reset(200L);
+        timer.start();
+        clock.advance(1000L, TimeUnit.MILLISECONDS);
+        assertEquals(5, ticks.size());
+        timer.cancel();
+    }
+
+    @Test
+    public void testResetWhileRunning_shouldThrow() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        CountDownTimer timer = new CountDownTimer(10_000L, 1000L, countDownOption(clock));
+        timer.start();
+        try {
+            timer.reset(5000L, 1000L);
+            fail();
+        } catch (IllegalStateException expected) {
+            assertEquals(10_000L, timer.getFutureDuration());
+        }
+        timer.pause();
+        try {
+            timer.reset(5000L, 1000L);
+            fail();
+        } catch (IllegalStateException expected) {
+            assertEquals(TimerStatus.PAUSED, timer.getState());
+        }
+        timer.cancel();
+    }
+
+    @Test
+    public void testResetWithInvalidArguments_shouldThrow() {
+        CountDownTimer timer = new CountDownTimer(10_000L, 1000L, countDownOption(new VirtualTimeSource()));
+        assertThrows(IllegalArgumentException.class, () -> timer.reset(0, 1000L));
+        assertThrows(IllegalArgumentException.class, () -> timer.reset(1000L, 0));
+    }
+
+    @Test
+    public void testPool_shouldReuseReleasedTimers() {
+        final VirtualTimeSource clock = new VirtualTimeSource();
+        final int[] created = {0};
+        CountDownTimerPool<CountDownTimer> pool = new CountDownTimerPool<>(2, (duration, interval) -> {
+            created[0]++;
+            return new CountDownTimer(duration, interval, countDownOption(clock));
+        });
+
+        CountDownTimer first = pool.acquire(60_000L, 1000L);
+        first.start();
+        pool.release(first);
+        assertEquals(TimerStatus.IDLE, first.getState());
+        assertEquals(1, pool.idleCount());
+
+        CountDownTimer second = pool.acquire(5000L, 100L);
+        assertSame(first, second);
+        assertEquals(5000L, second.getFutureDuration());
+        assertEquals(100L, second.getInterval());
+        assertEquals(1, created[0]);
+        assertEquals(0, pool.idleCount());
+
+        // 超出容量的实例直接丢弃
+        CountDownTimer a = pool.acquire(1000L, 100L);
+        CountDownTimer b = pool.acquire(1000L, 100L);
+        pool.release(second);
+        pool.release(a);
+        pool.release(b);
+        assertEquals(2, pool.idleCount());
+        assertEquals(3, created[0]);
+    }
+
+    @Test
+    public void testPoolDoubleRelease_shouldThrow() {
+        CountDownTimerPool<CountDownTimer> pool = new CountDownTimerPool<>(4,
+                (duration, interval) -> new CountDownTimer(duration, interval, countDownOption(new VirtualTimeSource())));
+        CountDownTimer timer = pool.acquire(1000L, 100L);
+        pool.release(timer);
+        assertThrows(IllegalStateException.class, () -> pool.release(timer));
+    }
+
+    @Test
+    public void testPoolDoubleRelease_shouldNotCancelPooledTimer() {
+        final VirtualTimeSource clock = new VirtualTimeSource();
+        final int[] cancels = {0};
+        CountDownTimerPool<CountDownTimer> pool = new CountDownTimerPool<>(4,
+                (duration, interval) -> new CountDownTimer(duration, interval, countDownOption(clock)) {
+                    @Override
+                    protected void onCancel(long millisUntilFinished) {
+                        cancels[0]++;
+                    }
+                });
+        CountDownTimer timer = pool.acquire(1000L, 100L);
+        pool.release(timer);
+        // 归还后仍被误用启动，重复归还只抛出异常，不产生取消的副作用
+        timer.start();
+        assertThrows(IllegalStateException.class, () -> pool.release(timer));
+        assertEquals(TimerStatus.RUNNING, timer.getState());
+        assertEquals(0, cancels[0]);
+        assertEquals(1, pool.idleCount());
+    }
+}
@@ -0,0 +1,254 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TimerRetimeTest {
+
+    /**
+     * 统计调度次数的包装，用来确认一批修改只重新调度一次。
+     */
+    private static final class CountingScheduler implements TickScheduler {
+        private final TickScheduler mDelegate;
+        int schedules;
+
+        CountingScheduler(TickScheduler delegate) {
+            mDelegate = delegate;
+        }
+
+        @NonNull
+        @Override
+        public Entry newEntry(@NonNull Runnable action) {
+            final Entry entry = mDelegate.newEntry(action);
+            return new Entry() {
+                @Override
+                public void schedule(long delayMillis) {
+                    schedules++;
+                    entry.schedule(delayMillis);
+                }
+
+                @Override
+                public void cancel() {
+                    entry.cancel();
+                }
+            };
+        }
+    }
+
+    private static class RecordingCountDown extends CountDownTimer {
+        final List<Long> ticks = new ArrayList<>();
+        int starts;
+        int cancels;
+        int finishes;
+
+        RecordingCountDown(long millisDuration, long interval, TickScheduler scheduler, TimeSource clock) {
+            super(millisDuration, interval,
+                    new CountDownTimer.Option.Builder().setScheduler(scheduler).setTimeSource(clock).build());
+        }
+
+        @Override
+        protected void onStart(long millisUntilFinished) {
+            starts++;
+        }
+
+        @Override
+        protected void onCancel(long millisUntilFinished) {
+            cancels++;
+        }
+
+        @Override
+        protected void onTick(long millisUntilFinished) {
+            ticks.add(millisUntilFinished);
+        }
+
+        @Override
+        protected void onFinish(long millisDuration) {
+            finishes++;
+        }
+    }
+
+    @Test
+    public void testAddTime_shouldExtendInPlaceKeepingPhase() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        RecordingCountDown timer = new RecordingCountDown(10_000L, 1000L, clock, clock);
+        timer.start();
+        clock.advance(2500L, TimeUnit.MILLISECONDS);
+        timer.addTime(30_000L);
+        clock.advance(500L, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(9000L, 8000L, 37_000L), timer.ticks);
+
+        clock.advance(36_999L, TimeUnit.MILLISECONDS);
+        assertEquals(0, timer.finishes);
+        clock.advance(1L, TimeUnit.MILLISECONDS);
+        assertEquals(1, timer.finishes);
+        assertEquals(1, timer.starts);
+        assertEquals(0, timer.cancels);
+    }
+
+    @Test
+    public void testBurstOfUpdates_shouldRescheduleOnce() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        CountingScheduler scheduler = new CountingScheduler(clock);
+        RecordingCountDown timer = new RecordingCountDown(10_000L, 1000L, scheduler, clock);
+        timer.start();
+        clock.advance(500L, TimeUnit.MILLISECONDS);
+        scheduler.schedules = 0;
+        for (int i = 0; i < 10; i++) {
+            timer.addTime(30_000L);
+        }
+        timer.addTime(-1000L);
+        assertEquals(1, scheduler.schedules);
+
+        clock.runDue();
+        assertEquals(2, scheduler.schedules);
+        clock.advance(500L, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(308_000L), timer.ticks);
+    }
+
+    @Test
+    public void testUpdateOnDispatchThread_shouldRearmDirectly() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        CountingScheduler scheduler = new CountingScheduler(clock);
+        RecordingCountDown timer = new RecordingCountDown(10_000L, 1000L, scheduler, clock);
+        timer.start();
+        // 第一次 tick 之后当前线程就是派发线程
+        clock.advance(1500L, TimeUnit.MILLISECONDS);
+        scheduler.schedules = 0;
+        timer.addTime(30_000L);
+        assertEquals(1, scheduler.schedules);
+        assertEquals(1, clock.pendingCount());
+
+        // 没有额外的立即触发，到期前不再调度
+        clock.runDue();
+        assertEquals(1, scheduler.schedules);
+        clock.advance(500L, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(9000L, 38_000L), timer.ticks);
+    }
+
+    @Test
+    public void testShortenPastDeadline_shouldFinish() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        RecordingCountDown timer = new RecordingCountDown(10_000L, 1000L, clock, clock);
+        timer.start();
+        clock.advance(2500L, TimeUnit.MILLISECONDS);
+        timer.addTime(-20_000L);
+        clock.runDue();
+        assertEquals(TimerStatus.IDLE, timer.getState());
+        assertEquals(1, timer.finishes);
+        assertEquals(0, timer.cancels);
+        assertEquals(Arrays.asList(9000L, 8000L), timer.ticks);
+    }
+
+    @Test
+    public void testExtendFinalTick_shouldReturnToIntervalGrid() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        RecordingCountDown timer = new RecordingCountDown(2500L, 1000L, clock, clock);
+        timer.start();
+        // 2000 之后剩余不足一个间隔，下一次 tick 落在结束时刻 2500
+        clock.advance(2200L, TimeUnit.MILLISECONDS);
+        timer.addTime(2000L);
+        clock.advance(2300L, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(1500L, 500L, 1500L, 500L), timer.ticks);
+        assertEquals(1, timer.finishes);
+    }
+
+    @Test
+    public void testSetDeadlineWhilePaused_shouldApplyAfterResume() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final long[] resumed = {-1};
+        RecordingCountDown timer = new RecordingCountDown(10_000L, 1000L, clock, clock) {
+            @Override
+            protected void onResume(long millisUntilFinished) {
+                resumed[0] = millisUntilFinished;
+            }
+        };
+        timer.start();
+        clock.advance(2500L, TimeUnit.MILLISECONDS);
+        timer.pause();
+        timer.setDeadline(5000L);
+        clock.advance(10_000L, TimeUnit.MILLISECONDS);
+        assertEquals(TimerStatus.PAUSED, timer.getState());
+
+        timer.resume();
+        assertEquals(5000L, resumed[0]);
+        clock.advance(4999L, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(9000L, 8000L, 4500L, 3500L, 2500L, 1500L, 500L), timer.ticks);
+        assertEquals(0, timer.finishes);
+        clock.advance(1L, TimeUnit.MILLISECONDS);
+        assertEquals(1, timer.finishes);
+    }
+
+    @Test
+    public void testSetDeadline_shouldRejectNegative() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        RecordingCountDown timer = new RecordingCountDown(10_000L, 1000L, clock, clock);
+        timer.start();
+        assertThrows(IllegalArgumentException.class, () -> timer.setDeadline(-1L));
+    }
+
+    @Test
+    public void testRetimeWhenIdle_shouldBeNoop() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        RecordingCountDown timer = new RecordingCountDown(3000L, 1000L, clock, clock);
+        timer.addTime(5000L);
+        timer.setDeadline(100L);
+        assertEquals(0, clock.pendingCount());
+        timer.start();
+        clock.advance(3000L, TimeUnit.MILLISECONDS);
+        assertEquals(1, timer.finishes);
+    }
+
+    @Test
+    public void testSetIntervalCountDown_shouldKeepRemaining() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        RecordingCountDown timer = new RecordingCountDown(10_000L, 1000L, clock, clock);
+        timer.start();
+        clock.advance(1000L, TimeUnit.MILLISECONDS);
+        timer.setInterval(3000L);
+        clock.advance(6000L, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(9000L, 6000L, 3000L), timer.ticks);
+        assertEquals(3000L, timer.getInterval());
+        clock.advance(3000L, TimeUnit.MILLISECONDS);
+        assertEquals(1, timer.finishes);
+    }
+
+    @Test
+    public void testSetIntervalTimer_shouldApplyWithoutRestart() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final List<Long> ticks = new ArrayList<>();
+        final int[] starts = {0};
+        AndroidTimer timer = new AndroidTimer(1000L,
+                new AndroidTimer.Option.Builder().setScheduler(clock).setTimeSource(clock).build()) {
+            @Override
+            protected void onStart(long millisFly) {
+                starts[0]++;
+            }
+
+            @Override
+            protected void onTick(long millisFly) {
+                ticks.add(millisFly);
+            }
+        };
+        timer.start();
+        clock.advance(2500L, TimeUnit.MILLISECONDS);
+        // 上一次 tick 在 2000，新间隔下的时间点 2200 已经过去，立即触发
+        timer.setInterval(200L);
+        clock.advance(600L, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(1000L, 2000L, 2500L, 2700L, 2900L, 3100L), ticks);
+
+        timer.setInterval(1000L);
+        clock.advance(1000L, TimeUnit.MILLISECONDS);
+        assertEquals(4100L, (long) ticks.get(ticks.size() - 1));
+        assertEquals(1000L, timer.getInterval());
+        assertEquals(1, starts[0]);
+        timer.cancel();
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.xesam.android.timer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+// 同一个虚拟时钟模拟进程死亡后继续走的 elapsedRealtime，新构造的计时器代表重建后的进程
+public class TimerSnapshotTest {
+
+    private static CountDownTimer.Option countDownOption(VirtualTimeSource clock) {
+        return new CountDownTimer.Option.Builder().setScheduler(clock).setTimeSource(clock).build();
+    }
+
+    private static AndroidTimer.Option timerOption(VirtualTimeSource clock) {
+        return new AndroidTimer.Option.Builder().setScheduler(clock).setTimeSource(clock).build();
+    }
+
+    @Test
+    public void testRunningCountDown_shouldRestoreRemainingTime() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        CountDownTimer before = new CountDownTimer(60_000L, 1000L, countDownOption(clock));
+        before.start();
+        clock.advance(10_500L, TimeUnit.MILLISECONDS);
+        byte[] snapshot = before.snapshot();
+        assertEquals(80, snapshot.length);
+        before.cancel();
+
+        clock.advance(20, TimeUnit.SECONDS);
+        final List<Long> ticks = new ArrayList<>();
+        final long[] missed = {0};
+        final int[] finishes = {0};
+        CountDownTimer after = new CountDownTimer(60_000L, 1000L, countDownOption(clock)) {
+            @Override
+            protected void onTick(long millisUntilFinished) {
+                ticks.add(millisUntilFinished);
+            }
+
+            @Override
+            protected void onMissedTicks(long missedTicks) {
+                missed[0] = missedTicks;
+            }
+
+            @Override
+            protected void onFinish(long millisDuration) {
+                finishes[0]++;
+            }
+        };
+        after.restore(snapshot);
+        assertEquals(TimerStatus.RUNNING, after.getState());
+        // 离开期间的 11s..30s 共 20 个时间点被跳过，不重放
+        assertEquals(20, missed[0]);
+        assertEquals(0, ticks.size());
+
+        clock.advance(500L, TimeUnit.MILLISECONDS);
+        assertEquals(1, ticks.size());
+        assertEquals(29_000L, (long) ticks.get(0));
+        clock.advance(29, TimeUnit.SECONDS);
+        assertEquals(1, finishes[0]);
+        assertEquals(TimerStatus.IDLE, after.getState());
+    }
+
+    @Test
+    public void testPausedTimer_shouldStayPausedAndResumeFromSnapshot() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        AndroidTimer before = new AndroidTimer(1000L, timerOption(clock));
+        before.start();
+        clock.advance(2_500L, TimeUnit.MILLISECONDS);
+        before.pause();
+        byte[] snapshot = before.snapshot();
+
+        clock.advance(1, TimeUnit.MINUTES);
+        final List<Long> ticks = new ArrayList<>();
+        final List<Long> resumes = new ArrayList<>();
+        AndroidTimer after = new AndroidTimer(1000L, timerOption(clock)) {
+            @Override
+            protected void onTick(long millisFly) {
+                ticks.add(millisFly);
+            }
+
+            @Override
+            protected void onResume(long millisFly) {
+                resumes.add(millisFly);
+            }
+        };
+        after.restore(snapshot);
+        assertEquals(TimerStatus.PAUSED, after.getState());
+        clock.advance(1, TimeUnit.MINUTES);
+        assertEquals(0, ticks.size());
+
+        after.resume();
+        assertEquals(2_500L, (long) resumes.get(0));
+        clock.advance(500L, TimeUnit.MILLISECONDS);
+        assertEquals(1, ticks.size());
+        assertEquals(3_000L, (long) ticks.get(0));
+    }
+
+    @Test
+    public void testExpiredCountDown_shouldFinishOnRestore() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        CountDownTimer before = new CountDownTimer(5_000L, 1000L, countDownOption(clock));
+        before.start();
+        byte[] snapshot = before.snapshot();
+
+        clock.advance(1, TimeUnit.MINUTES);
+        final int[] finishes = {0};
+        CountDownTimer after = new CountDownTimer(5_000L, 1000L, countDownOption(clock)) {
+            @Override
+            protected void onFinish(long millisDuration) {
+                finishes[0]++;
+            }
+        };
+        after.restore(snapshot);
+        assertEquals(1, finishes[0]);
+        assertEquals(TimerStatus.IDLE, after.getState());
+        assertEquals(0, clock.pendingCount());
+    }
+
+    @Test
+    public void testInvalidRestore_shouldThrow() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        AndroidTimer timer = new AndroidTimer(1000L, timerOption(clock));
+        byte[] snapshot = timer.snapshot();
+
+        assertThrows(IllegalArgumentException.class, () -> new AndroidTimer(500L, timerOption(clock)).restore(snapshot));
+        assertThrows(IllegalArgumentException.class, () -> new CountDownTimer(1000L, 1000L, countDownOption(clock)).restore(snapshot));
+        assertThrows(IllegalArgumentException.class, () -> timer.restore(new byte[12]));
+        timer.start();
+        assertThrows(IllegalStateException.class, () -> timer.restore(snapshot));
+    }
+
+    @Test
+    public void testElapsedSince_shouldFallBackToWallClockAfterReboot() {
+        long minute = TimeUnit.MINUTES.toNanos(1);
+        long wall = 1_700_000_000_000L;
+        // 同一次开机：以时间源为准，忽略小幅校时
+        assertEquals(5 * minute, TimerSnapshot.elapsedSince(10 * minute, wall, 15 * minute, wall + 5 * 60_000L + 800L));
+        // 重启后 elapsedRealtime 归零：按墙上时间差计算
+        assertEquals(20 * minute, TimerSnapshot.elapsedSince(10 * minute, wall, minute, wall + 20 * 60_000L));
+        // 墙上时间倒退时不返回负数
+        assertEquals(0L, TimerSnapshot.elapsedSince(10 * minute, wall, minute, wall - 60_000L));
+    }
+}
@@ -0,0 +1,245 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class TimerStatsTest {
+
+    /**
+     * 在虚拟时钟之上额外推迟 extraMillis[0] 毫秒，模拟调度线程繁忙。
+     */
+    private static TickScheduler lateScheduler(final VirtualTimeSource clock, final long[] extraMillis) {
+        return new TickScheduler() {
+            @NonNull
+            @Override
+            public Entry newEntry(@NonNull Runnable action) {
+                final Entry entry = clock.newEntry(action);
+                return new Entry() {
+                    @Override
+                    public void schedule(long delayMillis) {
+                        entry.schedule(delayMillis + extraMillis[0]);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        entry.cancel();
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * 记录调度次数的虚拟时钟调度器。
+     */
+    private static TickScheduler countingScheduler(final VirtualTimeSource clock, final int[] schedules) {
+        return new TickScheduler() {
+            @NonNull
+            @Override
+            public Entry newEntry(@NonNull Runnable action) {
+                final Entry entry = clock.newEntry(action);
+                return new Entry() {
+                    @Override
+                    public void schedule(long delayMillis) {
+                        schedules[0]++;
+                        entry.schedule(delayMillis);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        entry.cancel();
+                    }
+                };
+            }
+        };
+    }
+
+    @Test
+    public void testEarlyArrival_shouldDispatchWithoutRearm() {
+        final VirtualTimeSource clock = new VirtualTimeSource();
+        // 计时器的时间源比调度器慢 lagNanos[0]，模拟 Handler 按截断后的 uptime 提前不到 1ms 触发
+        final long[] lagNanos = {0};
+        final int[] schedules = {0};
+        final long[] fly = {-1};
+        AndroidTimer timer = new AndroidTimer(1000L, new AndroidTimer.Option.Builder()
+                .setScheduler(countingScheduler(clock, schedules))
+                .setTimeSource(() -> clock.nanoTime() - lagNanos[0])
+                .setStatsEnabled(true)
+                .build()) {
+            @Override
+            protected void onTickNanos(long nanosFly) {
+                fly[0] = nanosFly;
+            }
+        };
+        timer.start();
+        lagNanos[0] = 500_000L;
+        clock.advance(1000L, TimeUnit.MILLISECONDS);
+        // 回调收到实际读数，提前的部分不计入延迟
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1000L) - 500_000L, fly[0]);
+        assertEquals(2, schedules[0]);
+        assertEquals(0L, timer.getStats().getMaxLatenessNanos());
+
+        // 下一次 tick 仍按截止时刻 2000ms 推进，调度器向上取整后在 2001ms 触发，此时再提前 0.5ms 到达
+        lagNanos[0] = 1_500_000L;
+        clock.advance(1001L, TimeUnit.MILLISECONDS);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(2000L) - 500_000L, fly[0]);
+        assertEquals(3, schedules[0]);
+        assertEquals(2L, timer.getStats().getTickCount());
+        assertEquals(0L, timer.getStats().getMaxLatenessNanos());
+        timer.cancel();
+    }
+
+    @Test
+    public void testCountDownEarlyArrival_shouldReportActualRemaining() {
+        final VirtualTimeSource clock = new VirtualTimeSource();
+        final long[] lagNanos = {0};
+        final int[] schedules = {0};
+        final long[] left = {-1};
+        final int[] finished = {0};
+        CountDownTimer timer = new CountDownTimer(2000L, 1000L, new CountDownTimer.Option.Builder()
+                .setScheduler(countingScheduler(clock, schedules))
+                .setTimeSource(() -> clock.nanoTime() - lagNanos[0])
+                .build()) {
+            @Override
+            protected void onTickNanos(long nanosUntilFinished) {
+                left[0] = nanosUntilFinished;
+            }
+
+            @Override
+            protected void onFinish(long millisDuration) {
+                finished[0]++;
+            }
+        };
+        timer.start();
+        lagNanos[0] = 500_000L;
+        clock.advance(1000L, TimeUnit.MILLISECONDS);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1000L) + 500_000L, left[0]);
+        assertEquals(2, schedules[0]);
+
+        // 结束时刻提前到达也直接结束，不为剩余的不到 1ms 再调度一次
+        lagNanos[0] = 1_500_000L;
+        clock.advance(1001L, TimeUnit.MILLISECONDS);
+        assertEquals(1, finished[0]);
+        assertEquals(TimerStatus.IDLE, timer.getState());
+        assertEquals(2, schedules[0]);
+    }
+
+    @Test
+    public void testHistogram_shouldReportPercentilesWithinBucketError() {
+        LogHistogram histogram = new LogHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+        assertEquals(1000, histogram.count());
+        assertEquals(1_000_000L, histogram.max());
+        long p50 = histogram.valueAtPercentile(50);
+        assertTrue(p50 >= 500_000L && p50 <= 625_000L);
+        assertEquals(1_000_000L, histogram.valueAtPercentile(100));
+        assertEquals(0, new LogHistogram().valueAtPercentile(99));
+    }
+
+    @Test
+    public void testConcurrentRecording_shouldNotLoseSamples() throws Exception {
+        final TickStats stats = new TickStats();
+        final int perThread = 10_000;
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            final long base = (t + 1) * 1000L;
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    stats.recordLateness(base + i);
+                    stats.recordSkipped(1);
+                }
+            });
+            writers[t].start();
+        }
+        // 记录期间读取快照，计数与百分位保持自洽
+        for (int i = 0; i < 100; i++) {
+            TimerStats snapshot = stats.snapshot();
+            assertTrue(snapshot.getLatenessNanos(100) <= snapshot.getMaxLatenessNanos());
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        TimerStats snapshot = stats.snapshot();
+        assertEquals(writers.length * perThread, snapshot.getTickCount());
+        assertEquals(writers.length * perThread, snapshot.getSkippedIntervals());
+        assertEquals(4000L + perThread - 1, snapshot.getMaxLatenessNanos());
+    }
+
+    @Test
+    public void testBuckets_shouldBeContiguous() {
+        for (int bucket = 0; bucket < LogHistogram.BUCKET_COUNT - 1; bucket++) {
+            long upper = LogHistogram.upperBoundOf(bucket);
+            assertEquals(bucket, LogHistogram.bucketOf(upper));
+            assertEquals(bucket + 1, LogHistogram.bucketOf(upper + 1));
+        }
+        assertEquals(LogHistogram.BUCKET_COUNT - 1, LogHistogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testDisabled_shouldReturnEmpty() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        AndroidTimer timer = new AndroidTimer(100L, new AndroidTimer.Option.Builder()
+                .setTimeSource(clock)
+                .setScheduler(clock)
+                .build());
+        timer.start();
+        clock.advance(1, TimeUnit.SECONDS);
+        assertSame(TimerStats.EMPTY, timer.getStats());
+        timer.cancel();
+    }
+
+    @Test
+    public void testAndroidTimer_shouldRecordLatenessSkipsAndCallbackDuration() {
+        final VirtualTimeSource clock = new VirtualTimeSource();
+        final long[] extra = {3L};
+        AndroidTimer timer = new AndroidTimer(100L, new AndroidTimer.Option.Builder()
+                .setTimeSource(clock)
+                .setScheduler(lateScheduler(clock, extra))
+                .setStatsEnabled(true)
+                .build()) {
+            @Override
+            protected void onTick(long millisFly) {
+                clock.advance(5, TimeUnit.MILLISECONDS); // 回调耗时 5ms
+            }
+        };
+        timer.start();
+        clock.advance(310, TimeUnit.MILLISECONDS);
+        TimerStats stats = timer.getStats();
+        assertEquals(3, stats.getTickCount());
+        assertEquals(3_000_000L, stats.getMaxLatenessNanos());
+        assertEquals(5_000_000L, stats.getMaxCallbackNanos());
+        assertEquals(0, stats.getSkippedIntervals());
+
+        extra[0] = 250L; // 403ms 的 tick 之后的派发晚 250ms（750ms），跳过 600、700 两个间隔
+        clock.advance(450, TimeUnit.MILLISECONDS);
+        stats = timer.getStats();
+        assertEquals(2, stats.getSkippedIntervals());
+        assertTrue(stats.getMaxLatenessNanos() >= 250_000_000L);
+        assertTrue(stats.getLatenessNanos(50) <= stats.getLatenessNanos(99));
+        timer.cancel();
+    }
+
+    @Test
+    public void testCountDownTimer_shouldRecordFinalDispatch() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        CountDownTimer timer = new CountDownTimer(250L, 100L, new CountDownTimer.Option.Builder()
+                .setTimeSource(clock)
+                .setScheduler(lateScheduler(clock, new long[]{2L}))
+                .setStatsEnabled(true)
+                .build());
+        timer.start();
+        clock.advance(1, TimeUnit.SECONDS);
+        assertEquals(TimerStatus.IDLE, timer.getState());
+        TimerStats stats = timer.getStats();
+        // 100、200 两次 tick 加上 250 的结束派发
+        assertEquals(3, stats.getTickCount());
+        assertEquals(2_000_000L, stats.getLatenessNanos(50));
+    }
+}
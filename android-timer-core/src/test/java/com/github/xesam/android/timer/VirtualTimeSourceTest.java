@@ -0,0 +1,169 @@
+package com.github.xesam.android.timer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+// 虚拟时钟同时充当时间源与调度器，无需 Looper，直接在 JVM 上运行
+public class VirtualTimeSourceTest {
+
+    @Test
+    public void testAdvance_shouldMoveClock() {
+        VirtualTimeSource clock = new VirtualTimeSource(5L);
+        assertEquals(5L, clock.nanoTime());
+        clock.advance(3, TimeUnit.MILLISECONDS);
+        assertEquals(5L + 3_000_000L, clock.nanoTime());
+    }
+
+    @Test
+    public void testNegativeAdvance_shouldThrowIllegalArgumentException() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        assertThrows(IllegalArgumentException.class, () -> clock.advance(-1, TimeUnit.MILLISECONDS));
+        assertThrows(IllegalArgumentException.class, () -> clock.setSpeed(-1));
+    }
+
+    @Test
+    public void testSpeed_shouldScaleBaseClock() {
+        final long[] base = {0L};
+        VirtualTimeSource clock = new VirtualTimeSource(0L, () -> base[0]);
+        clock.setSpeed(10);
+        base[0] = 100L;
+        assertEquals(1000L, clock.nanoTime());
+
+        clock.setSpeed(0);
+        base[0] = 500L;
+        assertEquals(1000L, clock.nanoTime());
+    }
+
+    @Test
+    public void testEntries_shouldRunInDeadlineOrderWithClockAtDeadline() {
+        final VirtualTimeSource clock = new VirtualTimeSource();
+        final List<Long> firedAt = new ArrayList<>();
+        clock.newEntry(() -> firedAt.add(clock.nanoTime())).schedule(30L);
+        clock.newEntry(() -> firedAt.add(clock.nanoTime())).schedule(10L);
+        TickScheduler.Entry cancelled = clock.newEntry(() -> firedAt.add(-1L));
+        cancelled.schedule(20L);
+        cancelled.cancel();
+        assertEquals(2, clock.pendingCount());
+
+        clock.advance(1, TimeUnit.SECONDS);
+        assertEquals(2, firedAt.size());
+        assertEquals(Long.valueOf(10_000_000L), firedAt.get(0));
+        assertEquals(Long.valueOf(30_000_000L), firedAt.get(1));
+        assertEquals(1_000_000_000L, clock.nanoTime());
+    }
+
+    @Test
+    public void testAndroidTimer_shouldRunOnVirtualClock() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final List<Long> ticks = new ArrayList<>();
+        AndroidTimer timer = new AndroidTimer(100L, new AndroidTimer.Option.Builder()
+                .setTimeSource(clock)
+                .setScheduler(clock)
+                .build()) {
+            @Override
+            protected void onTick(long millisFly) {
+                ticks.add(millisFly);
+            }
+        };
+        timer.start();
+        clock.advance(1, TimeUnit.SECONDS);
+        assertEquals(10, ticks.size());
+        assertEquals(Long.valueOf(100L), ticks.get(0));
+        assertEquals(Long.valueOf(1000L), ticks.get(9));
+
+        timer.pause();
+        clock.advance(1, TimeUnit.SECONDS);
+        assertEquals(10, ticks.size());
+
+        timer.resume();
+        clock.advance(250, TimeUnit.MILLISECONDS);
+        assertEquals(12, ticks.size());
+        assertEquals(Long.valueOf(1200L), ticks.get(11));
+        timer.cancel();
+    }
+
+    @Test
+    public void testCountDownTimer_shouldFinishOnVirtualClock() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final List<Long> ticks = new ArrayList<>();
+        final int[] finishes = {0};
+        CountDownTimer timer = new CountDownTimer(1000L, 300L, new CountDownTimer.Option.Builder()
+                .setTickWhenFinish(true)
+                .setTimeSource(clock)
+                .setScheduler(clock)
+                .build()) {
+            @Override
+            protected void onTick(long millisUntilFinished) {
+                ticks.add(millisUntilFinished);
+            }
+
+            @Override
+            protected void onFinish(long millisDuration) {
+                finishes[0]++;
+            }
+        };
+        timer.start();
+        clock.advance(2, TimeUnit.SECONDS);
+        assertEquals(1, finishes[0]);
+        assertEquals(TimerStatus.IDLE, timer.getState());
+        assertEquals(Long.valueOf(700L), ticks.get(0));
+        assertEquals(Long.valueOf(0L), ticks.get(ticks.size() - 1));
+        assertEquals(0, clock.pendingCount());
+    }
+
+    @Test
+    public void testNanosInterval_shouldNotAccumulateRoundingDrift() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final List<Long> ticks = new ArrayList<>();
+        // 120Hz：8.333333ms，毫秒整数间隔会漂移到 125 次
+        AndroidTimer timer = new AndroidTimer(8_333_333L, TimeUnit.NANOSECONDS, new AndroidTimer.Option.Builder()
+                .setTimeSource(clock)
+                .setScheduler(clock)
+                .build()) {
+            @Override
+            protected void onTickNanos(long nanosFly) {
+                ticks.add(nanosFly);
+            }
+        };
+        assertEquals(8L, timer.getInterval());
+        assertEquals(8_333L, timer.getInterval(TimeUnit.MICROSECONDS));
+
+        timer.start();
+        clock.advance(1, TimeUnit.SECONDS);
+        assertEquals(120, ticks.size());
+        for (int i = 0; i < ticks.size(); i++) {
+            long expected = (i + 1) * 8_333_333L;
+            // 调度器只有毫秒精度：不早于截止时间，且最多晚 1ms
+            assertTrue(ticks.get(i) >= expected);
+            assertTrue(ticks.get(i) - expected < 1_000_000L);
+        }
+        timer.cancel();
+    }
+
+    @Test
+    public void testMillisCallbacks_shouldAdaptNanosCallbacks() {
+        VirtualTimeSource clock = new VirtualTimeSource();
+        final List<Long> ticks = new ArrayList<>();
+        CountDownTimer timer = new CountDownTimer(1500L, 500L, TimeUnit.MICROSECONDS, new CountDownTimer.Option.Builder()
+                .setTickWhenStart(true)
+                .setTimeSource(clock)
+                .setScheduler(clock)
+                .build()) {
+            @Override
+            protected void onTick(long millisUntilFinished) {
+                ticks.add(millisUntilFinished);
+            }
+        };
+        assertEquals(1L, timer.getFutureDuration());
+        assertEquals(1_500_000L, timer.getFutureDuration(TimeUnit.NANOSECONDS));
+        timer.start();
+        assertEquals(Long.valueOf(1L), ticks.get(0));
+        clock.advance(10, TimeUnit.MILLISECONDS);
+        assertEquals(TimerStatus.IDLE, timer.getState());
+    }
+}
@@ -2,25 +2,66 @@ package com.github.xesam.android.timer.kt
 
 import com.github.xesam.android.timer.AndroidTimer
 import com.github.xesam.android.timer.CountDownTimer
+import com.github.xesam.android.timer.StateListener
+import com.github.xesam.android.timer.SuspendableTickScheduler
+import com.github.xesam.android.timer.TickScheduler
+import com.github.xesam.android.timer.TimeSource
+import com.github.xesam.android.timer.TimerEvent
+import com.github.xesam.android.timer.TimerPlatform
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.DisposableHandle
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.channels.BufferOverflow
 
+/**
+ * @param tickBuffer   tickFlow 每个收集者的缓冲容量，传 [kotlinx.coroutines.channels.Channel.CONFLATED] 只保留最新值
+ * @param tickOverflow 缓冲满时的策略；tick 不能挂起，SUSPEND 与 DROP_LATEST 一样丢弃新值，丢弃数见 droppedTicks
+ * @param suspendWhenUnobserved 没有 tickFlow 收集者时挂起调度器，不再唤醒线程；计时照常进行，
+ *                              第一个收集者到来时立即按当前时间补发一次 tick。
+ *                              只对仅通过 tickFlow 观察的计时器生效：传入了 onTick 时不挂起，onTick 照常回调
+ */
+// 构建器 DSL 有意使用多个命名参数，对 LongParameterList 显式豁免
+@Suppress("LongParameterList")
 fun androidTimer(
     interval: Long,
     option: AndroidTimer.Option = AndroidTimer.Option(),
     onStart: (Long) -> Unit = {},
-    onTick: (Long) -> Unit = {},
+    onTick: (Long) -> Unit = NO_TICK,
     onPause: (Long) -> Unit = {},
     onResume: (Long) -> Unit = {},
     onCancel: (Long) -> Unit = {},
-): KtAndroidTimer = KtAndroidTimer(
-    interval = interval,
-    option = option,
-    onStartCallback = onStart,
-    onTickCallback = onTick,
-    onPauseCallback = onPause,
-    onResumeCallback = onResume,
-    onCancelCallback = onCancel,
-)
+    tickBuffer: Int = DEFAULT_TICK_BUFFER,
+    tickOverflow: BufferOverflow = BufferOverflow.SUSPEND,
+    suspendWhenUnobserved: Boolean = false,
+): KtAndroidTimer {
+    val gate = unobservedGate(
+        suspendWhenUnobserved && onTick === NO_TICK,
+        option.scheduler,
+        option.timeSource,
+        option.isAsynchronous,
+    )
+    return KtAndroidTimer(
+        interval = interval,
+        option = gate?.let { AndroidTimer.Option.Builder(option).setScheduler(it).build() } ?: option,
+        onStartCallback = onStart,
+        onTickCallback = onTick,
+        onPauseCallback = onPause,
+        onResumeCallback = onResume,
+        onCancelCallback = onCancel,
+        tickBuffer = tickBuffer,
+        tickOverflow = tickOverflow,
+        tickGate = gate,
+    )
+}
 
+/**
+ * @param tickBuffer   tickFlow 每个收集者的缓冲容量，传 [kotlinx.coroutines.channels.Channel.CONFLATED] 只保留最新值
+ * @param tickOverflow 缓冲满时的策略；tick 不能挂起，SUSPEND 与 DROP_LATEST 一样丢弃新值，丢弃数见 droppedTicks
+ * @param suspendWhenUnobserved 没有 tickFlow 收集者时挂起调度器，不再唤醒线程；计时照常进行，
+ *                              第一个收集者到来时立即按当前时间补发一次 tick，挂起期间到期的倒计时此时完成。
+ *                              只对仅通过 tickFlow 观察的倒计时生效：传入了 onTick 或 onFinish 时不挂起，
+ *                              没有收集者也照常回调，结束时 onFinish 不会丢失
+ */
 // 构建器 DSL 有意使用多个命名参数，对 LongParameterList 显式豁免
 @Suppress("LongParameterList")
 fun countDownTimer(
@@ -28,22 +69,167 @@ fun countDownTimer(
     interval: Long,
     option: CountDownTimer.Option = CountDownTimer.Option(),
     onStart: (Long) -> Unit = {},
+    onTick: (Long) -> Unit = NO_TICK,
+    onPause: (Long) -> Unit = {},
+    onResume: (Long) -> Unit = {},
+    onCancel: (Long) -> Unit = {},
+    onFinish: () -> Unit = NO_FINISH,
+    tickBuffer: Int = DEFAULT_TICK_BUFFER,
+    tickOverflow: BufferOverflow = BufferOverflow.SUSPEND,
+    suspendWhenUnobserved: Boolean = false,
+): KtCountDownTimer {
+    val gate = unobservedGate(
+        suspendWhenUnobserved && onTick === NO_TICK && onFinish === NO_FINISH,
+        option.scheduler,
+        option.timeSource,
+        option.isAsynchronous,
+    )
+    return KtCountDownTimer(
+        duration = duration,
+        interval = interval,
+        option = gate?.let { CountDownTimer.Option.Builder(option).setScheduler(it).build() } ?: option,
+        onStartCallback = onStart,
+        onTickCallback = onTick,
+        onPauseCallback = onPause,
+        onResumeCallback = onResume,
+        onCancelCallback = onCancel,
+        onFinishCallback = onFinish,
+        tickBuffer = tickBuffer,
+        tickOverflow = tickOverflow,
+        tickGate = gate,
+    )
+}
+
+// 未传入的 tick 回调，据此判断计时器是否只通过 tickFlow 观察
+private val NO_TICK: (Long) -> Unit = {}
+private val NO_FINISH: () -> Unit = {}
+
+// 包装计时器原本的调度器，初始没有收集者，处于挂起状态
+private fun unobservedGate(
+    enabled: Boolean,
+    scheduler: TickScheduler?,
+    timeSource: TimeSource?,
+    asynchronous: Boolean,
+): SuspendableTickScheduler? {
+    if (!enabled) {
+        return null
+    }
+    val platform = TimerPlatform.get()
+    return SuspendableTickScheduler(
+        scheduler ?: platform.defaultScheduler(asynchronous),
+        timeSource ?: platform.defaultTimeSource(),
+    ).apply { suspend() }
+}
+
+/**
+ * 运行在当前 [CoroutineScope] 上的周期计时器：由 [CoroutineTickScheduler] 以 delay 调度、按 [clock] 计时，
+ * 不创建 Handler，也不绑定线程，回调在 scope 的调度器上执行。
+ * scope 取消时计时器随之取消并回调 onCancel（在取消 scope 的线程上）。计时器只在运行期间挂在 scope 的 Job 上，
+ * 结束或取消后即移除，长生命周期的 scope（viewModelScope 等）不会一直持有已经结束的计时器及其回调。
+ *
+ * @param clock 计时用的单调时钟，应与 scope 的调度器计时一致，测试中可换成虚拟时间
+ */
+@Suppress("LongParameterList")
+fun CoroutineScope.coroutineTimer(
+    interval: Long,
+    tickWhenStart: Boolean = false,
+    clock: TimeSource = TimeSource.MONOTONIC,
+    onStart: (Long) -> Unit = {},
+    onTick: (Long) -> Unit = {},
+    onPause: (Long) -> Unit = {},
+    onResume: (Long) -> Unit = {},
+    onCancel: (Long) -> Unit = {},
+    tickBuffer: Int = DEFAULT_TICK_BUFFER,
+    tickOverflow: BufferOverflow = BufferOverflow.SUSPEND,
+): KtAndroidTimer {
+    val option = AndroidTimer.Option.Builder()
+        .setTickWhenStart(tickWhenStart)
+        .setScheduler(CoroutineTickScheduler(this))
+        .setTimeSource(clock)
+        .build()
+    val timer = androidTimer(
+        interval, option, onStart, onTick, onPause, onResume, onCancel, tickBuffer, tickOverflow,
+    )
+    cancelWithScope(timer::addStateListener, timer::cancel)
+    return timer
+}
+
+/**
+ * 运行在当前 [CoroutineScope] 上的倒计时器，调度与取消语义同 [coroutineTimer]。
+ */
+@Suppress("LongParameterList")
+fun CoroutineScope.coroutineCountDownTimer(
+    duration: Long,
+    interval: Long,
+    tickWhenStart: Boolean = false,
+    tickWhenFinish: Boolean = false,
+    clock: TimeSource = TimeSource.MONOTONIC,
+    onStart: (Long) -> Unit = {},
     onTick: (Long) -> Unit = {},
     onPause: (Long) -> Unit = {},
     onResume: (Long) -> Unit = {},
     onCancel: (Long) -> Unit = {},
     onFinish: () -> Unit = {},
-): KtCountDownTimer = KtCountDownTimer(
-    duration = duration,
-    interval = interval,
-    option = option,
-    onStartCallback = onStart,
-    onTickCallback = onTick,
-    onPauseCallback = onPause,
-    onResumeCallback = onResume,
-    onCancelCallback = onCancel,
-    onFinishCallback = onFinish,
-)
+    tickBuffer: Int = DEFAULT_TICK_BUFFER,
+    tickOverflow: BufferOverflow = BufferOverflow.SUSPEND,
+): KtCountDownTimer {
+    val option = CountDownTimer.Option.Builder()
+        .setTickWhenStart(tickWhenStart)
+        .setTickWhenFinish(tickWhenFinish)
+        .setScheduler(CoroutineTickScheduler(this))
+        .setTimeSource(clock)
+        .build()
+    val timer = countDownTimer(
+        duration, interval, option, onStart, onTick, onPause, onResume, onCancel, onFinish, tickBuffer, tickOverflow,
+    )
+    cancelWithScope(timer::addStateListener, timer::cancel)
+    return timer
+}
+
+private fun CoroutineScope.cancelWithScope(addStateListener: (StateListener) -> Unit, cancel: () -> Unit) {
+    val job = coroutineContext[Job] ?: return
+    addStateListener(ScopeBinding(job, cancel))
+}
+
+/**
+ * 启动（或恢复）时在 scope 的 Job 上注册取消回调，取消或结束时注销，释放 Job 对计时器的引用。
+ */
+private class ScopeBinding(private val job: Job, private val cancel: () -> Unit) : StateListener {
+    private var handle: DisposableHandle? = null
+
+    override fun onStateChanged(event: Int, millis: Long) {
+        when (event) {
+            TimerEvent.START, TimerEvent.RESUME -> attach()
+            TimerEvent.CANCEL, TimerEvent.FINISH -> detach()
+        }
+    }
+
+    private fun attach() {
+        synchronized(this) {
+            if (handle != null) {
+                return
+            }
+        }
+        // scope 已经结束时回调立即在当前线程执行，不能持锁
+        val registered = job.invokeOnCompletion { cancel() }
+        if (job.isCompleted) {
+            return
+        }
+        synchronized(this) {
+            if (handle == null) {
+                handle = registered
+                return
+            }
+        }
+        registered.dispose()
+    }
+
+    @Synchronized
+    private fun detach() {
+        handle?.dispose()
+        handle = null
+    }
+}
 
 fun androidTick(
     delay: Long,
@@ -0,0 +1,93 @@
+package com.github.xesam.android.timer.kt
+
+import com.github.xesam.android.timer.TickScheduler
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.selects.onTimeout
+import kotlinx.coroutines.selects.select
+
+/**
+ * 基于协程 [delay] 的调度后端：不创建 Handler，不投递 Looper 消息，到期动作运行在 [scope] 的调度器上，
+ * 可以是任意 CoroutineDispatcher。
+ *
+ * 每个 Entry 只有一个常驻协程，在第一次调度时于 [scope] 中启动：调度与取消只更新截止时间并唤醒它，
+ * 协程在“被唤醒”与“到期”之间等待，tick 之间不启动、不取消协程；没有待触发的调度时协程结束，不占用 scope。
+ * scope 取消后协程随之取消，之后的调度也不会再触发。
+ * delay 按调度器自身的时钟计时，计时器应配合单调时钟（默认 TimeSource.MONOTONIC）使用，
+ * tick 时间点由计时器按绝对时间计算，调度的早晚不会累积漂移。
+ */
+class CoroutineTickScheduler(private val scope: CoroutineScope) : TickScheduler {
+
+    override fun newEntry(action: Runnable): TickScheduler.Entry = CoroutineEntry(action)
+
+    private inner class CoroutineEntry(private val action: Runnable) : TickScheduler.Entry {
+        private val wake = Channel<Unit>(Channel.CONFLATED)
+        private var loop: Job? = null
+        private var delayMillis = IDLE
+
+        // 每次 schedule/cancel 递增，等待中的协程据此判断到期的是否仍是最新的调度
+        private var generation = 0
+
+        override fun schedule(delayMillis: Long) {
+            synchronized(this) {
+                generation++
+                this.delayMillis = maxOf(0L, delayMillis)
+                if (loop?.isActive != true) {
+                    loop = scope.launch { runLoop() }
+                }
+            }
+            wake.trySend(Unit)
+        }
+
+        override fun cancel() {
+            synchronized(this) {
+                generation++
+                delayMillis = IDLE
+            }
+            wake.trySend(Unit)
+        }
+
+        @OptIn(ExperimentalCoroutinesApi::class)
+        private suspend fun runLoop() {
+            while (true) {
+                // 先丢弃已读到的唤醒，之后收到的唤醒都对应读取之后的修改
+                wake.tryReceive()
+                val expected: Int
+                val waitMillis: Long
+                synchronized(this) {
+                    if (delayMillis == IDLE) {
+                        loop = null
+                        return
+                    }
+                    expected = generation
+                    waitMillis = delayMillis
+                }
+                val due = select {
+                    wake.onReceive { false }
+                    onTimeout(waitMillis) { true }
+                }
+                if (due) {
+                    fire(expected)
+                }
+            }
+        }
+
+        private fun fire(expected: Int) {
+            synchronized(this) {
+                if (expected != generation) {
+                    return
+                }
+                delayMillis = IDLE
+            }
+            action.run()
+        }
+    }
+
+    private companion object {
+        const val IDLE = -1L
+    }
+}
@@ -1,14 +1,15 @@
 package com.github.xesam.android.timer.kt
 
 import com.github.xesam.android.timer.AndroidTimer
+import com.github.xesam.android.timer.SuspendableTickScheduler
+import kotlinx.coroutines.channels.BufferOverflow
 import kotlinx.coroutines.flow.Flow
-import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
-import kotlinx.coroutines.flow.asSharedFlow
 import kotlinx.coroutines.flow.asStateFlow
 
-class KtAndroidTimer internal constructor(
+// 回调与 tickFlow 配置均由构建函数逐个传入，对 LongParameterList 显式豁免
+class KtAndroidTimer @Suppress("LongParameterList") internal constructor(
     interval: Long,
     option: AndroidTimer.Option,
     private val onStartCallback: (Long) -> Unit,
@@ -16,15 +17,21 @@ class KtAndroidTimer internal constructor(
     private val onPauseCallback: (Long) -> Unit,
     private val onResumeCallback: (Long) -> Unit,
     private val onCancelCallback: (Long) -> Unit,
+    tickBuffer: Int,
+    tickOverflow: BufferOverflow,
+    tickGate: SuspendableTickScheduler?,
 ) : AndroidTimer(interval, option) {
 
-    private companion object {
-        // 高频 tick 场景下缓冲 64，避免消费者短暂阻塞时丢失 tick 事件
-        private const val TICK_BUFFER_CAPACITY = 64
-    }
+    private val tickSource = TickFlowSource(tickBuffer, tickOverflow, ::addTickListener, ::removeTickListener, tickGate)
+
+    /**
+     * tick 流。每个收集者有独立的缓冲，容量与溢出策略由构建函数的 tickBuffer / tickOverflow 指定；
+     * 没有收集者时 tick 不进入任何缓冲。
+     */
+    val tickFlow: Flow<Long> = tickSource.flow
 
-    private val _tickFlow = MutableSharedFlow<Long>(extraBufferCapacity = TICK_BUFFER_CAPACITY)
-    val tickFlow: Flow<Long> = _tickFlow.asSharedFlow()
+    /** 因收集者缓冲已满被丢弃（或被合并掉）的 tick 数，所有收集者累计 */
+    val droppedTicks: Long get() = tickSource.droppedTicks
 
     private val _stateFlow = MutableStateFlow(TimerState.IDLE)
     val stateFlow: StateFlow<TimerState> = _stateFlow.asStateFlow()
@@ -41,7 +48,6 @@ class KtAndroidTimer internal constructor(
     }
 
     override fun onTick(millisFly: Long) {
-        _tickFlow.tryEmit(millisFly)
         onTickCallback(millisFly)
     }
 
@@ -1,6 +1,8 @@
 package com.github.xesam.android.timer.kt
 
 import com.github.xesam.android.timer.CountDownTimer
+import com.github.xesam.android.timer.SuspendableTickScheduler
+import kotlinx.coroutines.channels.BufferOverflow
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.MutableSharedFlow
 import kotlinx.coroutines.flow.MutableStateFlow
@@ -8,7 +10,8 @@ import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asSharedFlow
 import kotlinx.coroutines.flow.asStateFlow
 
-class KtCountDownTimer internal constructor(
+// 回调与 tickFlow 配置均由构建函数逐个传入，对 LongParameterList 显式豁免
+class KtCountDownTimer @Suppress("LongParameterList") internal constructor(
     duration: Long,
     interval: Long,
     option: CountDownTimer.Option,
@@ -18,17 +21,26 @@ class KtCountDownTimer internal constructor(
     private val onResumeCallback: (Long) -> Unit,
     private val onCancelCallback: (Long) -> Unit,
     private val onFinishCallback: () -> Unit,
+    tickBuffer: Int,
+    tickOverflow: BufferOverflow,
+    tickGate: SuspendableTickScheduler?,
 ) : CountDownTimer(duration, interval, option) {
 
     private companion object {
-        // 高频 tick 场景下缓冲 64，避免消费者短暂阻塞时丢失 tick 事件
-        private const val TICK_BUFFER_CAPACITY = 64
         // finish 为单次事件，缓冲 1 足够
         private const val FINISH_BUFFER_CAPACITY = 1
     }
 
-    private val _tickFlow = MutableSharedFlow<Long>(extraBufferCapacity = TICK_BUFFER_CAPACITY)
-    val tickFlow: Flow<Long> = _tickFlow.asSharedFlow()
+    private val tickSource = TickFlowSource(tickBuffer, tickOverflow, ::addTickListener, ::removeTickListener, tickGate)
+
+    /**
+     * tick 流。每个收集者有独立的缓冲，容量与溢出策略由构建函数的 tickBuffer / tickOverflow 指定；
+     * 没有收集者时 tick 不进入任何缓冲。
+     */
+    val tickFlow: Flow<Long> = tickSource.flow
+
+    /** 因收集者缓冲已满被丢弃（或被合并掉）的 tick 数，所有收集者累计 */
+    val droppedTicks: Long get() = tickSource.droppedTicks
 
     private val _stateFlow = MutableStateFlow(TimerState.IDLE)
     val stateFlow: StateFlow<TimerState> = _stateFlow.asStateFlow()
@@ -48,7 +60,6 @@ class KtCountDownTimer internal constructor(
     }
 
     override fun onTick(millisUntilFinished: Long) {
-        _tickFlow.tryEmit(millisUntilFinished)
         onTickCallback(millisUntilFinished)
     }
 
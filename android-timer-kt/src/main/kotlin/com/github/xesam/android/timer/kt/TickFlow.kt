@@ -0,0 +1,79 @@
+package com.github.xesam.android.timer.kt
+
+import com.github.xesam.android.timer.SuspendableTickScheduler
+import com.github.xesam.android.timer.TickListener
+import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import java.util.concurrent.atomic.AtomicLong
+
+/** tickFlow 默认的每个收集者缓冲容量，高频 tick 场景下避免消费者短暂阻塞时丢失 tick 事件 */
+const val DEFAULT_TICK_BUFFER: Int = 64
+
+/**
+ * tickFlow 的背压配置，语义与 [kotlinx.coroutines.flow.buffer] 一致：
+ * - [capacity] 为每个收集者的缓冲容量，传 [Channel.CONFLATED] 时只保留最新值，慢收集者永远不会落后；
+ * - [overflow] 为缓冲满时的策略。tick 在 Looper 回调中产生，不能挂起，
+ *   [BufferOverflow.SUSPEND] 与 [BufferOverflow.DROP_LATEST] 一样丢弃新值。
+ *
+ * 无论哪种策略，被丢弃的 tick 都计入 droppedTicks。
+ *
+ * 指定 [gate] 时按收集者数量挂起计时器的调度器：最后一个收集者离开时挂起，第一个收集者到来时恢复。
+ */
+internal class TickFlowSource(
+    private val capacity: Int,
+    private val overflow: BufferOverflow,
+    private val addListener: (TickListener) -> Unit,
+    private val removeListener: (TickListener) -> Unit,
+    private val gate: SuspendableTickScheduler? = null,
+) {
+    private val dropped = AtomicLong()
+    private var collectors = 0
+
+    val droppedTicks: Long get() = dropped.get()
+
+    /**
+     * 每个收集者各自注册一个 [TickListener] 与缓冲通道，没有收集者时 tick 不经过任何通道。
+     */
+    val flow: Flow<Long> = flow {
+        val channel = newChannel()
+        val listener = TickListener { millis ->
+            val result = channel.trySend(millis)
+            if (result.isFailure && !result.isClosed) {
+                dropped.incrementAndGet()
+            }
+        }
+        addListener(listener)
+        onCollectorChanged(1)
+        try {
+            for (millis in channel) {
+                emit(millis)
+            }
+        } finally {
+            removeListener(listener)
+            onCollectorChanged(-1)
+            channel.close()
+        }
+    }
+
+    // 计数与挂起/恢复需要一起完成，否则并发进出的收集者可能让调度器停在错误的状态
+    @Synchronized
+    private fun onCollectorChanged(delta: Int) {
+        collectors += delta
+        if (gate == null) {
+            return
+        }
+        if (collectors == 0) {
+            gate.suspend()
+        } else if (collectors == 1 && delta > 0) {
+            gate.resume()
+        }
+    }
+
+    private fun newChannel(): Channel<Long> = if (capacity == Channel.CONFLATED) {
+        Channel(Channel.CONFLATED) { dropped.incrementAndGet() }
+    } else {
+        Channel(capacity, overflow) { dropped.incrementAndGet() }
+    }
+}
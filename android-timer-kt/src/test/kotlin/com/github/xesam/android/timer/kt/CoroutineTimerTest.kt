@@ -0,0 +1,139 @@
+package com.github.xesam.android.timer.kt
+
+import com.github.xesam.android.timer.TimeSource
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.test.StandardTestDispatcher
+import kotlinx.coroutines.test.TestScope
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.lang.ref.WeakReference
+
+class CoroutineTimerTest {
+
+    // 与 testScheduler 的虚拟时间同步的时钟
+    private fun TestScope.virtualClock() = TimeSource { testScheduler.currentTime * 1_000_000L }
+
+    @Test
+    fun `ticks at absolute interval on virtual time`() = runTest {
+        val ticks = mutableListOf<Long>()
+        val timer = backgroundScope.coroutineTimer(1000L, clock = virtualClock(), onTick = { ticks.add(it) })
+
+        timer.start()
+        testScheduler.advanceTimeBy(3500L)
+
+        assertEquals(listOf(1000L, 2000L, 3000L), ticks)
+        timer.cancel()
+    }
+
+    @Test
+    fun `pause keeps elapsed time and resume continues from it`() = runTest {
+        val ticks = mutableListOf<Long>()
+        val timer = backgroundScope.coroutineTimer(1000L, clock = virtualClock(), onTick = { ticks.add(it) })
+
+        timer.start()
+        testScheduler.advanceTimeBy(1500L)
+        timer.pause()
+        testScheduler.advanceTimeBy(10_000L)
+        assertEquals(listOf(1000L), ticks)
+
+        timer.resume()
+        testScheduler.advanceTimeBy(600L)
+        assertEquals(listOf(1000L, 2000L), ticks)
+        timer.cancel()
+    }
+
+    @Test
+    fun `count down honours tickWhenStart and tickWhenFinish`() = runTest {
+        val ticks = mutableListOf<Long>()
+        var finished = false
+        val timer = backgroundScope.coroutineCountDownTimer(
+            duration = 3000L,
+            interval = 1000L,
+            tickWhenStart = true,
+            tickWhenFinish = true,
+            clock = virtualClock(),
+            onTick = { ticks.add(it) },
+            onFinish = { finished = true },
+        )
+
+        timer.start()
+        testScheduler.advanceTimeBy(5000L)
+
+        assertEquals(listOf(3000L, 2000L, 1000L, 0L), ticks)
+        assertTrue(finished)
+        assertEquals(TimerState.IDLE, timer.state)
+    }
+
+    @Test
+    fun `cancelling the scope cancels the timer`() = runTest {
+        val scope = CoroutineScope(StandardTestDispatcher(testScheduler))
+        val ticks = mutableListOf<Long>()
+        var cancelled = false
+        val timer = scope.coroutineTimer(
+            1000L,
+            clock = virtualClock(),
+            onTick = { ticks.add(it) },
+            onCancel = { cancelled = true },
+        )
+
+        timer.start()
+        testScheduler.advanceTimeBy(1500L)
+        scope.cancel()
+        testScheduler.advanceTimeBy(5000L)
+
+        assertTrue(cancelled)
+        assertEquals(TimerState.IDLE, timer.state)
+        assertEquals(listOf(1000L), ticks)
+    }
+
+    @Test
+    fun `one coroutine per entry is reused across ticks`() = runTest {
+        val job = Job()
+        val scope = CoroutineScope(job + StandardTestDispatcher(testScheduler))
+        val ticks = mutableListOf<Long>()
+        val timer = scope.coroutineTimer(1000L, clock = virtualClock(), onTick = { ticks.add(it) })
+
+        timer.start()
+        testScheduler.advanceTimeBy(1500L)
+        val loop = job.children.single()
+        testScheduler.advanceTimeBy(3000L)
+        assertEquals(listOf(1000L, 2000L, 3000L, 4000L), ticks)
+        assertSame(loop, job.children.single())
+
+        timer.cancel()
+        testScheduler.runCurrent()
+        assertEquals(0, job.children.count())
+        job.cancel()
+    }
+
+    @Test
+    fun `finished timer is not retained by a long lived scope`() = runTest {
+        val job = Job()
+        val scope = CoroutineScope(job + StandardTestDispatcher(testScheduler))
+        val ref = startAndFinish(scope)
+        testScheduler.runCurrent()
+
+        repeat(10) {
+            if (ref.get() != null) {
+                System.gc()
+                Thread.sleep(10L)
+            }
+        }
+        assertNull(ref.get())
+        job.cancel()
+    }
+
+    private fun TestScope.startAndFinish(scope: CoroutineScope): WeakReference<KtCountDownTimer> {
+        val timer = scope.coroutineCountDownTimer(2000L, 1000L, clock = virtualClock())
+        timer.start()
+        testScheduler.advanceTimeBy(2500L)
+        assertEquals(TimerState.IDLE, timer.state)
+        return WeakReference(timer)
+    }
+}
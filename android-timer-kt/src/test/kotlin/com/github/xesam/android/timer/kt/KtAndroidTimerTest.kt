@@ -1,8 +1,11 @@
 package com.github.xesam.android.timer.kt
 
+import kotlinx.coroutines.CompletableDeferred
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.cancel
+import kotlinx.coroutines.channels.BufferOverflow
+import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.launch
 import org.junit.After
 import org.junit.Assert.assertEquals
@@ -12,6 +15,7 @@ import org.junit.runner.RunWith
 import org.robolectric.RobolectricTestRunner
 import org.robolectric.annotation.LooperMode
 import org.robolectric.shadows.ShadowLooper
+import java.util.concurrent.TimeUnit
 
 @RunWith(RobolectricTestRunner::class)
 @LooperMode(LooperMode.Mode.PAUSED)
@@ -133,4 +137,109 @@ class KtAndroidTimerTest {
         timer.cancel()
         assertEquals(TimerState.IDLE, timer.stateFlow.value)
     }
+
+    @Test
+    fun `fast collector drops nothing`() {
+        val emitted = mutableListOf<Long>()
+        var ticks = 0
+        val timer = androidTimer(1000L, onTick = { ticks++ })
+        scope.launch { timer.tickFlow.collect { emitted.add(it) } }
+
+        timer.start()
+        ShadowLooper.idleMainLooper(5000L, TimeUnit.MILLISECONDS)
+
+        assertEquals(ticks, emitted.size)
+        assertEquals(0L, timer.droppedTicks)
+        timer.cancel()
+    }
+
+    @Test
+    fun `conflated tickFlow keeps latest tick and counts the rest as dropped`() {
+        val emitted = mutableListOf<Long>()
+        val ticks = mutableListOf<Long>()
+        val gate = CompletableDeferred<Unit>()
+        val timer = androidTimer(1000L, onTick = { ticks.add(it) }, tickBuffer = Channel.CONFLATED)
+        scope.launch {
+            timer.tickFlow.collect {
+                emitted.add(it)
+                gate.await()
+            }
+        }
+
+        timer.start()
+        ShadowLooper.idleMainLooper(5000L, TimeUnit.MILLISECONDS)
+        assertTrue(ticks.size >= 3)
+        assertEquals(1, emitted.size)
+        assertEquals((ticks.size - 2).toLong(), timer.droppedTicks)
+
+        gate.complete(Unit)
+        assertEquals(listOf(ticks.first(), ticks.last()), emitted)
+        timer.cancel()
+    }
+
+    @Test
+    fun `full buffer drops new ticks and counts them`() {
+        val emitted = mutableListOf<Long>()
+        var ticks = 0
+        val gate = CompletableDeferred<Unit>()
+        val timer = androidTimer(
+            1000L,
+            onTick = { ticks++ },
+            tickBuffer = 2,
+            tickOverflow = BufferOverflow.SUSPEND,
+        )
+        scope.launch {
+            timer.tickFlow.collect {
+                emitted.add(it)
+                gate.await()
+            }
+        }
+
+        timer.start()
+        ShadowLooper.idleMainLooper(5000L, TimeUnit.MILLISECONDS)
+        assertTrue(ticks >= 4)
+        assertEquals((ticks - 1 - 2).toLong(), timer.droppedTicks)
+
+        gate.complete(Unit)
+        assertEquals(3, emitted.size)
+        timer.cancel()
+    }
+
+    @Test
+    fun `unobserved timer stops ticking and catches up when collected`() {
+        val emitted = mutableListOf<Long>()
+        val timer = androidTimer(1000L, suspendWhenUnobserved = true)
+
+        timer.start()
+        ShadowLooper.idleMainLooper(5500L, TimeUnit.MILLISECONDS)
+        assertEquals(TimerState.RUNNING, timer.state)
+
+        val job = scope.launch { timer.tickFlow.collect { emitted.add(it) } }
+        ShadowLooper.idleMainLooper()
+        assertEquals(listOf(5500L), emitted)
+
+        ShadowLooper.idleMainLooper(1000L, TimeUnit.MILLISECONDS)
+        assertEquals(listOf(5500L, 6000L), emitted)
+
+        job.cancel()
+        ShadowLooper.idleMainLooper(3000L, TimeUnit.MILLISECONDS)
+        // 挂起期间不再唤醒 Looper，新的收集者到来时才补发
+        val late = mutableListOf<Long>()
+        val second = scope.launch { timer.tickFlow.collect { late.add(it) } }
+        ShadowLooper.idleMainLooper()
+        assertEquals(listOf(9500L), late)
+        second.cancel()
+        timer.cancel()
+    }
+
+    @Test
+    fun `onTick keeps firing without collectors when suspendWhenUnobserved is set`() {
+        val ticks = mutableListOf<Long>()
+        val timer = androidTimer(1000L, onTick = { ticks.add(it) }, suspendWhenUnobserved = true)
+
+        timer.start()
+        ShadowLooper.idleMainLooper(3500L, TimeUnit.MILLISECONDS)
+        assertEquals(listOf(1000L, 2000L, 3000L), ticks)
+        timer.cancel()
+    }
 }
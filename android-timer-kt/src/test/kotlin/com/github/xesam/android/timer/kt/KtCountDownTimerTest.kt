@@ -12,6 +12,7 @@ import org.junit.runner.RunWith
 import org.robolectric.RobolectricTestRunner
 import org.robolectric.annotation.LooperMode
 import org.robolectric.shadows.ShadowLooper
+import java.util.concurrent.TimeUnit
 
 @RunWith(RobolectricTestRunner::class)
 @LooperMode(LooperMode.Mode.PAUSED)
@@ -124,4 +125,24 @@ class KtCountDownTimerTest {
         timer.cancel()
         assertEquals(TimerState.IDLE, timer.stateFlow.value)
     }
+
+
+    @Test
+    fun `onFinish fires with zero collectors when suspendWhenUnobserved is set`() {
+        var finished = 0
+        val ticks = mutableListOf<Long>()
+        val timer = countDownTimer(
+            3000L,
+            1000L,
+            onTick = { ticks.add(it) },
+            onFinish = { finished++ },
+            suspendWhenUnobserved = true,
+        )
+
+        timer.start()
+        ShadowLooper.idleMainLooper(3000L, TimeUnit.MILLISECONDS)
+        assertEquals(listOf(2000L, 1000L), ticks)
+        assertEquals(1, finished)
+        assertEquals(TimerState.IDLE, timer.state)
+    }
 }
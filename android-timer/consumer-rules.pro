@@ -0,0 +1,4 @@
+# TimerPlatform 通过反射创建 Android 平台默认值
+-keep class com.github.xesam.android.timer.AndroidTimerPlatform {
+    public <init>();
+}
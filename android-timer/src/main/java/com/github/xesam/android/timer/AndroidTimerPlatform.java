@@ -0,0 +1,30 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+
+/**
+ * Android 上的平台默认值：每个计时器使用绑定构造线程 Looper 的 Handler，时间源为
+ * {@link SystemClockTimeSource#ELAPSED_REALTIME}。由 {@link TimerPlatform} 反射创建，混淆时需保留。
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public final class AndroidTimerPlatform extends TimerPlatform {
+
+    @NonNull
+    @Override
+    public TickScheduler defaultScheduler() {
+        return HandlerTickScheduler.currentThread();
+    }
+
+    @NonNull
+    @Override
+    public TickScheduler defaultAsyncScheduler() {
+        return HandlerTickScheduler.currentThreadAsync();
+    }
+
+    @NonNull
+    @Override
+    public TimeSource defaultTimeSource() {
+        return SystemClockTimeSource.ELAPSED_REALTIME;
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.xesam.android.timer;
+
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+
+/**
+ * 与屏幕刷新对齐的调度器：到期动作在截止时间之后的第一帧的 {@link Choreographer.FrameCallback} 中执行，
+ * 驱动 UI 的 tick 与该帧的绘制同步，不会因为落在两帧之间而晚一整帧才显示。
+ * <pre>
+ * CountDownTimer countDown = new CountDownTimer(60_000L, 1000L,
+ *         new CountDownTimer.Option(false, false, FrameTickScheduler.getMain()));
+ * </pre>
+ * 与 {@link SharedTickScheduler} 一样，所有 Entry 保存在一个小顶堆中，任意时刻只挂着一个延迟帧回调，
+ * 指向最早的截止时间；两次截止时间之间不会逐帧回调，空闲的 1 秒倒计时每秒只唤醒一次。
+ * <p>
+ * 可在任意线程调用 schedule/cancel；到期动作在 Choreographer 所属的线程上执行。
+ */
+public final class FrameTickScheduler implements TickScheduler {
+    private static final long NOT_ARMED = Long.MAX_VALUE;
+
+    private static volatile FrameTickScheduler sMain;
+
+    private final Choreographer mChoreographer;
+    private final DeadlineQueue<FrameEntry> mQueue = new DeadlineQueue<>();
+    // 仅在帧回调中使用，复用以避免每帧分配
+    private final ArrayList<FrameEntry> mDueBatch = new ArrayList<>();
+    private final Choreographer.FrameCallback mFrameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            dispatchDue();
+        }
+    };
+    private long mArmedAt = NOT_ARMED;
+
+    /**
+     * 绑定主线程 Choreographer 的共享实例，首次调用必须在主线程。
+     */
+    @NonNull
+    public static FrameTickScheduler getMain() {
+        FrameTickScheduler main = sMain;
+        if (main == null) {
+            synchronized (FrameTickScheduler.class) {
+                main = sMain;
+                if (main == null) {
+                    if (Looper.myLooper() != Looper.getMainLooper()) {
+                        throw new IllegalStateException("首次获取 FrameTickScheduler.getMain() 必须在主线程");
+                    }
+                    main = new FrameTickScheduler(Choreographer.getInstance());
+                    sMain = main;
+                }
+            }
+        }
+        return main;
+    }
+
+    public FrameTickScheduler(@NonNull Choreographer choreographer) {
+        mChoreographer = choreographer;
+    }
+
+    @NonNull
+    @Override
+    public Entry newEntry(@NonNull Runnable action) {
+        return new FrameEntry(action);
+    }
+
+    /**
+     * 当前排队等待触发的 Entry 数量。
+     */
+    public synchronized int size() {
+        return mQueue.size();
+    }
+
+    private void dispatchDue() {
+        // 帧时间是 vsync 时刻，可能略早于回调实际执行的时间；以当前时间判断到期，避免多等一帧
+        final long now = SystemClock.uptimeMillis();
+        synchronized (this) {
+            mArmedAt = NOT_ARMED;
+            FrameEntry head = mQueue.peek();
+            while (head != null && head.deadline <= now) {
+                mQueue.poll();
+                head.mDue = true;
+                mDueBatch.add(head);
+                head = mQueue.peek();
+            }
+            armLocked(now);
+        }
+        for (int i = 0, size = mDueBatch.size(); i < size; i++) {
+            FrameEntry entry = mDueBatch.get(i);
+            if (entry.mDue) {
+                entry.mDue = false;
+                entry.mAction.run();
+            }
+        }
+        mDueBatch.clear();
+    }
+
+    /**
+     * 为队首截止时间挂一个延迟帧回调，Choreographer 在延迟到达前不会请求 vsync。
+     * 只有最早截止时间提前时才替换已挂出的回调。
+     */
+    private void armLocked(long now) {
+        FrameEntry head = mQueue.peek();
+        if (head == null || head.deadline >= mArmedAt) {
+            return;
+        }
+        if (mArmedAt != NOT_ARMED) {
+            mChoreographer.removeFrameCallback(mFrameCallback);
+        }
+        mArmedAt = head.deadline;
+        mChoreographer.postFrameCallbackDelayed(mFrameCallback, Math.max(0, head.deadline - now));
+    }
+
+    private final class FrameEntry extends DeadlineQueue.Node implements Entry {
+        private final Runnable mAction;
+        // 已出堆、等待本帧执行；被 cancel/schedule 清除
+        volatile boolean mDue = false;
+
+        FrameEntry(Runnable action) {
+            mAction = action;
+        }
+
+        @Override
+        public void schedule(long delayMillis) {
+            final long now = SystemClock.uptimeMillis();
+            synchronized (FrameTickScheduler.this) {
+                mDue = false;
+                mQueue.remove(this);
+                this.deadline = now + Math.max(0, delayMillis);
+                mQueue.add(this);
+                armLocked(now);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (FrameTickScheduler.this) {
+                mDue = false;
+                mQueue.remove(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.github.xesam.android.timer;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * 基于 Handler 的调度后端，每个 Entry 在消息队列中各自占用一条消息。
+ * <p>
+ * 通过构造函数指定 Looper 或 Handler 后，计时器可以在任意线程（包括没有 Looper 的线程）上创建，
+ * 调度与回调都在指定的线程上执行，例如把传感器轮询放到后台 {@code HandlerThread}：
+ * <pre>
+ * HandlerThread thread = new HandlerThread("sensor");
+ * thread.start();
+ * AndroidTimer poller = new AndroidTimer(50L, new AndroidTimer.Option(false, new HandlerTickScheduler(thread.getLooper())));
+ * </pre>
+ * 未指定调度器时计时器使用 {@link #currentThread()}：每个 Entry 绑定构造线程的 Looper，
+ * 构造线程没有 Looper 时改为在第一次调度（start/tick）时绑定调度线程的 Looper；Handler 只在队列中有本 Entry 的消息时存在。
+ * <p>
+ * 重新调度与取消不会逐条从消息队列中移除旧消息（{@code removeMessages} 需要在队列锁内遍历整个 MessageQueue），
+ * 旧消息到达时按代数或截止时间识别为过期并直接丢弃；只有过期消息累积超过 {@value #MAX_STALE} 条时才批量移除一次。
+ * <p>
+ * 异步模式（{@link #currentThreadAsync()} 或构造参数 asynchronous）下消息标记为异步，不会被同步屏障挡住：
+ * {@code ViewRootImpl} 布局绘制期间 tick 照常派发，倒计时文字不会因此跳过一秒。
+ * 消息通过 {@link Message#setAsynchronous(boolean)} 逐条标记，API 22 以下没有公开接口，仍按同步消息发送。
+ */
+public final class HandlerTickScheduler implements TickScheduler {
+    private static final HandlerTickScheduler CURRENT_THREAD = new HandlerTickScheduler(false);
+    private static final HandlerTickScheduler CURRENT_THREAD_ASYNC = new HandlerTickScheduler(true);
+
+    private static final int MSG = 1;
+    // 单个 Entry 允许滞留在队列中的过期消息数，超过后批量移除
+    static final int MAX_STALE = 8;
+
+    @Nullable
+    private final Handler mHandler;
+    private final boolean mAsynchronous;
+
+    /**
+     * 每个 Entry 绑定构造线程 Looper 的默认调度器；构造线程没有 Looper 时在第一次调度时绑定，调用 start/tick 的线程必须已准备 Looper。
+     */
+    @NonNull
+    public static HandlerTickScheduler currentThread() {
+        return CURRENT_THREAD;
+    }
+
+    /**
+     * 与 {@link #currentThread()} 相同，但发送异步消息，tick 不受同步屏障影响。
+     */
+    @NonNull
+    public static HandlerTickScheduler currentThreadAsync() {
+        return CURRENT_THREAD_ASYNC;
+    }
+
+    private HandlerTickScheduler(boolean asynchronous) {
+        mHandler = null;
+        mAsynchronous = asynchronous;
+    }
+
+    public HandlerTickScheduler(@NonNull Looper looper) {
+        this(looper, false);
+    }
+
+    /**
+     * @param asynchronous 是否发送异步消息
+     */
+    public HandlerTickScheduler(@NonNull Looper looper, boolean asynchronous) {
+        this(new Handler(looper), asynchronous);
+    }
+
+    /**
+     * @param handler 所有 Entry 共用的 Handler，到期动作在它所属的线程上执行
+     */
+    public HandlerTickScheduler(@NonNull Handler handler) {
+        this(handler, false);
+    }
+
+    /**
+     * @param handler      所有 Entry 共用的 Handler，到期动作在它所属的线程上执行
+     * @param asynchronous 是否发送异步消息
+     */
+    public HandlerTickScheduler(@NonNull Handler handler, boolean asynchronous) {
+        mHandler = handler;
+        mAsynchronous = asynchronous;
+    }
+
+    @NonNull
+    @Override
+    public Entry newEntry(@NonNull Runnable action) {
+        if (mHandler == null) {
+            return new HandlerEntry(action, mAsynchronous);
+        }
+        return new PostedEntry(mHandler, action, mAsynchronous);
+    }
+
+    private static Message markAsync(Message msg, boolean asynchronous) {
+        if (asynchronous && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP_MR1) {
+            msg.setAsynchronous(true);
+        }
+        return msg;
+    }
+
+    /**
+     * 绑定当前线程 Looper 的 Entry。构造线程有 Looper 时绑定构造线程（与之前的行为一致），
+     * 否则在第一次调度时绑定调度线程的 Looper。Handler 在第一次调度时才创建，
+     * 队列中不再有本 Entry 的消息（没有待触发的调度，过期消息也已到达或被批量移除）时释放，只保留 Looper。
+     * 取消后过期消息还在队列中时保留 Handler 与过期计数，批量移除因此仍能命中它们，紧接着的再次启动也不会重新创建 Handler。
+     * 从未启动的计时器因此不占用 Handler，也可以在没有 Looper 的线程上构造。
+     */
+    private static final class HandlerEntry implements Entry, Handler.Callback {
+        private final Runnable mAction;
+        private final boolean mAsynchronous;
+        @Nullable
+        private Looper mLooper;
+        @Nullable
+        private Handler mHandler;
+        private boolean mPending = false;
+        // 每次 schedule/cancel 递增，消息以 arg1 携带发出时的代数
+        private int mGeneration = 0;
+        // 当前 Handler 仍在队列中的过期消息数，降到 0 且没有待触发的调度时释放 Handler
+        private int mStale = 0;
+
+        HandlerEntry(Runnable action, boolean asynchronous) {
+            mAction = action;
+            mAsynchronous = asynchronous;
+            mLooper = Looper.myLooper();
+        }
+
+        @Override
+        public synchronized void schedule(long delayMillis) {
+            invalidateLocked();
+            Handler handler = mHandler;
+            if (handler == null) {
+                handler = new Handler(bindLooperLocked(), this);
+                mHandler = handler;
+            }
+            mPending = true;
+            Message msg = markAsync(handler.obtainMessage(MSG, mGeneration, 0), mAsynchronous);
+            handler.sendMessageDelayed(msg, delayMillis);
+        }
+
+        @Override
+        public synchronized void cancel() {
+            invalidateLocked();
+            releaseIfDrainedLocked();
+        }
+
+        /**
+         * 构造线程没有 Looper 且尚未调度时返回 null，此时由第一次调度的线程决定。
+         */
+        @Nullable
+        @Override
+        public synchronized Thread getDispatchThread() {
+            return mLooper != null ? mLooper.getThread() : null;
+        }
+
+        private Looper bindLooperLocked() {
+            if (mLooper == null) {
+                mLooper = Looper.myLooper();
+                if (mLooper == null) {
+                    throw new IllegalStateException("当前线程没有 Looper，请在 Looper 线程上启动计时器，或通过 HandlerTickScheduler 指定 Looper");
+                }
+            }
+            return mLooper;
+        }
+
+        private void invalidateLocked() {
+            mGeneration++;
+            if (!mPending) {
+                return;
+            }
+            mPending = false;
+            if (++mStale > MAX_STALE) {
+                mHandler.removeMessages(MSG);
+                mStale = 0;
+            }
+        }
+
+        private void releaseIfDrainedLocked() {
+            if (!mPending && mStale == 0) {
+                mHandler = null;
+            }
+        }
+
+        @Override
+        public boolean handleMessage(@NonNull Message msg) {
+            synchronized (this) {
+                if (msg.getTarget() != mHandler) {
+                    return true;
+                }
+                if (msg.arg1 != mGeneration) {
+                    mStale--;
+                    releaseIfDrainedLocked();
+                    return true;
+                }
+                mPending = false;
+            }
+            mAction.run();
+            synchronized (this) {
+                // 动作中没有重新调度，说明已经结束
+                if (mHandler == msg.getTarget()) {
+                    releaseIfDrainedLocked();
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 共用外部 Handler 的 Entry：以自身作为 callback 投递，批量移除时只会命中自己的消息。
+     * <p>
+     * 同一个 Runnable 无法携带代数，改为记录当前消息的投递时刻：早于该时刻到达的是被替换的旧消息。
+     * 晚于该时刻的旧消息到达时当前消息已经执行，mPending 已清除。
+     */
+    private static final class PostedEntry implements Entry, Runnable {
+        private final Handler mHandler;
+        private final Runnable mAction;
+        private final boolean mAsynchronous;
+        private boolean mPending = false;
+        private long mDeadline;
+        // 队列中属于本 Entry 的消息数，包括当前消息
+        private int mQueued = 0;
+
+        PostedEntry(Handler handler, Runnable action, boolean asynchronous) {
+            mHandler = handler;
+            mAction = action;
+            mAsynchronous = asynchronous;
+        }
+
+        @Override
+        public synchronized void schedule(long delayMillis) {
+            if (mQueued > MAX_STALE) {
+                mHandler.removeCallbacks(this);
+                mQueued = 0;
+            }
+            mPending = true;
+            mDeadline = SystemClock.uptimeMillis() + Math.max(0, delayMillis);
+            mQueued++;
+            if (mAsynchronous) {
+                mHandler.sendMessageAtTime(markAsync(Message.obtain(mHandler, this), true), mDeadline);
+            } else {
+                mHandler.postAtTime(this, mDeadline);
+            }
+        }
+
+        @Override
+        public synchronized void cancel() {
+            mPending = false;
+            if (mQueued > MAX_STALE) {
+                mHandler.removeCallbacks(this);
+                mQueued = 0;
+            }
+        }
+
+        @Nullable
+        @Override
+        public Thread getDispatchThread() {
+            return mHandler.getLooper().getThread();
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                mQueued--;
+                if (!mPending || SystemClock.uptimeMillis() < mDeadline) {
+                    return;
+                }
+                mPending = false;
+            }
+            mAction.run();
+        }
+    }
+}
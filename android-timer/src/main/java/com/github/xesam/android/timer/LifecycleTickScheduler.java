@@ -0,0 +1,70 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+/**
+ * 绑定 {@link LifecycleOwner} 的调度器：生命周期低于指定状态时自动挂起，不再唤醒 Looper，回到该状态后自动恢复。
+ * <pre>
+ * CountDownTimer countDown = new CountDownTimer(60_000L, 1000L, new CountDownTimer.Option.Builder()
+ *         .setScheduler(new LifecycleTickScheduler(activity))
+ *         .build());
+ * AndroidTick tick = new AndroidTick(5000L, new LifecycleTickScheduler(fragment.getViewLifecycleOwner()));
+ * </pre>
+ * 挂起期间计时器没有被暂停，截止时间仍按时钟计算：后台停留 10 分钟的 CountDownTimer 回到前台后
+ * 立即报告正确的剩余时间，或者直接完成。生命周期到达 DESTROYED 后保持挂起并移除观察者。
+ * <p>
+ * 需要依赖 androidx.lifecycle，本库只在编译期引用。
+ */
+public final class LifecycleTickScheduler extends SuspendableTickScheduler implements LifecycleEventObserver {
+    private final Lifecycle.State mMinState;
+
+    /**
+     * 生命周期低于 STARTED（不可见）时挂起，到期动作在主线程执行。
+     */
+    @MainThread
+    public LifecycleTickScheduler(@NonNull LifecycleOwner owner) {
+        this(owner, Lifecycle.State.STARTED);
+    }
+
+    @MainThread
+    public LifecycleTickScheduler(@NonNull LifecycleOwner owner, @NonNull Lifecycle.State minState) {
+        this(owner, minState, HandlerTickScheduler.currentThread());
+    }
+
+    /**
+     * @param minState 允许调度的最低生命周期状态，不能是 DESTROYED
+     * @param delegate 未挂起时承载调度的底层调度器
+     */
+    @MainThread
+    public LifecycleTickScheduler(@NonNull LifecycleOwner owner, @NonNull Lifecycle.State minState, @NonNull TickScheduler delegate) {
+        super(delegate, TimerPlatform.get().defaultTimeSource());
+        if (minState == Lifecycle.State.DESTROYED) {
+            throw new IllegalArgumentException("最低生命周期状态不能是 DESTROYED");
+        }
+        mMinState = minState;
+        Lifecycle lifecycle = owner.getLifecycle();
+        if (!lifecycle.getCurrentState().isAtLeast(minState)) {
+            suspend();
+        }
+        if (lifecycle.getCurrentState() != Lifecycle.State.DESTROYED) {
+            lifecycle.addObserver(this);
+        }
+    }
+
+    @Override
+    public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+        Lifecycle.State state = source.getLifecycle().getCurrentState();
+        if (state == Lifecycle.State.DESTROYED) {
+            suspend();
+            source.getLifecycle().removeObserver(this);
+        } else if (state.isAtLeast(mMinState)) {
+            resume();
+        } else {
+            suspend();
+        }
+    }
+}
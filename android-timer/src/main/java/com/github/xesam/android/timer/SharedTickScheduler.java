@@ -0,0 +1,156 @@
+package com.github.xesam.android.timer;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+
+/**
+ * 多路复用调度器：所有 Entry 的截止时间保存在一个小顶堆中，消息队列里只为最早的截止时间保留一条消息。
+ * <p>
+ * N 个计时器共用一条消息，每个不同的截止时间只唤醒一次 Looper，
+ * 避免大量计时器各自向 {@code MessageQueue} 做 O(n) 的有序插入。
+ * <pre>
+ * AndroidTimer.Option option = new AndroidTimer.Option(false, SharedTickScheduler.getMain());
+ * </pre>
+ * 通过 {@link Entry#schedule(long, long)} 指定容差的 Entry 可以在窗口内推迟，与其他 Entry 合并为同一次唤醒，
+ * 截止时间相差几毫秒的大量宽松计时器因此不再各自唤醒 Looper。
+ * <p>
+ * 可在任意线程调用 schedule/cancel；到期动作总是在构造时指定的 Looper 线程上执行。
+ */
+public final class SharedTickScheduler implements TickScheduler {
+    private static final int MSG = 1;
+    private static final long NOT_ARMED = Long.MAX_VALUE;
+
+    private static volatile SharedTickScheduler sMain;
+
+    private final SlackQueue<SharedEntry> mQueue = new SlackQueue<>();
+    // 仅在 Looper 线程上使用，复用以避免每次派发分配
+    private final ArrayList<SharedEntry> mDueBatch = new ArrayList<>();
+    private final Handler mHandler;
+    private long mArmedAt = NOT_ARMED;
+
+    /**
+     * 绑定主线程的共享实例。
+     */
+    @NonNull
+    public static SharedTickScheduler getMain() {
+        SharedTickScheduler main = sMain;
+        if (main == null) {
+            synchronized (SharedTickScheduler.class) {
+                main = sMain;
+                if (main == null) {
+                    main = new SharedTickScheduler(Looper.getMainLooper());
+                    sMain = main;
+                }
+            }
+        }
+        return main;
+    }
+
+    public SharedTickScheduler(@NonNull Looper looper) {
+        mHandler = new Handler(looper, new Handler.Callback() {
+            @Override
+            public boolean handleMessage(@NonNull Message msg) {
+                dispatchDue();
+                return true;
+            }
+        });
+    }
+
+    @NonNull
+    @Override
+    public Entry newEntry(@NonNull Runnable action) {
+        return new SharedEntry(action);
+    }
+
+    /**
+     * 当前排队等待触发的 Entry 数量。
+     */
+    public synchronized int size() {
+        return mQueue.size();
+    }
+
+    private void dispatchDue() {
+        final long now = SystemClock.uptimeMillis();
+        synchronized (this) {
+            mArmedAt = NOT_ARMED;
+            // 取出所有最早截止时间已到的 Entry，容差窗口覆盖本次唤醒的一并执行
+            SharedEntry due;
+            while ((due = mQueue.pollDue(now)) != null) {
+                due.mDue = true;
+                mDueBatch.add(due);
+            }
+            armLocked();
+        }
+        // 动作在锁外执行：计时器的回调可能重新调度自身，也可能取消同一批次中尚未执行的 Entry
+        for (int i = 0, size = mDueBatch.size(); i < size; i++) {
+            SharedEntry entry = mDueBatch.get(i);
+            if (entry.mDue) {
+                entry.mDue = false;
+                entry.mAction.run();
+            }
+        }
+        mDueBatch.clear();
+    }
+
+    /**
+     * 保证最早的最晚截止时间已有一条消息。只有唤醒时间提前时才需要替换已发出的消息；
+     * 队首被取消或推后时保留旧消息，届时空跑一次再重新布置。
+     */
+    private void armLocked() {
+        long wakeup = mQueue.nextWakeup();
+        if (wakeup >= mArmedAt) {
+            return;
+        }
+        if (mArmedAt != NOT_ARMED) {
+            mHandler.removeMessages(MSG);
+        }
+        mArmedAt = wakeup;
+        mHandler.sendEmptyMessageAtTime(MSG, wakeup);
+    }
+
+    private final class SharedEntry extends SlackQueue.Node implements Entry {
+        private final Runnable mAction;
+        // 已出堆、等待本批次执行；被 cancel/schedule 清除
+        volatile boolean mDue = false;
+
+        SharedEntry(Runnable action) {
+            mAction = action;
+        }
+
+        @Override
+        public void schedule(long delayMillis) {
+            schedule(delayMillis, 0);
+        }
+
+        @Override
+        public void schedule(long delayMillis, long toleranceMillis) {
+            final long deadline = SystemClock.uptimeMillis() + Math.max(0, delayMillis);
+            synchronized (SharedTickScheduler.this) {
+                mDue = false;
+                mQueue.add(this, deadline, toleranceMillis);
+                armLocked();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (SharedTickScheduler.this) {
+                mDue = false;
+                mQueue.remove(this);
+            }
+        }
+
+        @Nullable
+        @Override
+        public Thread getDispatchThread() {
+            return mHandler.getLooper().getThread();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.xesam.android.timer;
+
+import android.os.SystemClock;
+
+/**
+ * 基于 {@link SystemClock} 的时间源。
+ */
+public final class SystemClockTimeSource implements TimeSource {
+    /**
+     * {@link SystemClock#elapsedRealtimeNanos()}：开机以来的时间，包含深度睡眠。计时器的默认时间源。
+     */
+    public static final SystemClockTimeSource ELAPSED_REALTIME = new SystemClockTimeSource(true);
+
+    /**
+     * {@link SystemClock#uptimeMillis()}：不含深度睡眠，与 Handler 消息队列使用同一时间基准。
+     */
+    public static final SystemClockTimeSource UPTIME = new SystemClockTimeSource(false);
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final boolean mIncludeDeepSleep;
+
+    private SystemClockTimeSource(boolean includeDeepSleep) {
+        mIncludeDeepSleep = includeDeepSleep;
+    }
+
+    @Override
+    public long nanoTime() {
+        if (mIncludeDeepSleep) {
+            return SystemClock.elapsedRealtimeNanos();
+        }
+        return SystemClock.uptimeMillis() * NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,322 @@
+package com.github.xesam.android.timer;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+
+/**
+ * 哈希时间轮调度器，适合大量“多数会在到期前被取消”的超时任务（例如用 {@link AndroidTick} 实现的请求超时）。
+ * <p>
+ * 截止时间按 tickMillis 向上取整后散列到 wheelSize 个桶中，每个桶是一个双向链表：
+ * 一圈之内的 schedule/cancel 均为 O(1)，cancel 不会触碰 {@code MessageQueue}。
+ * 轮上只存放一圈之内的截止时间，每个桶的占用情况记在位图中，下一个非空桶按 64 个桶一组查找，不逐桶扫描；
+ * 超过一圈的截止时间放在一个小顶堆中（O(log n)），按真实的截止时间布置唤醒，进入一圈之内时再移到轮上，不会每圈空转一次。
+ * <p>
+ * 消息队列中只保留一条有效消息，指向最早的截止时间。截止时间提前时直接补发一条更早的消息，不调用 {@code removeMessages}，
+ * 被替换的旧消息到达时按代数识别并丢弃；旧消息累积超过 {@value HandlerTickScheduler#MAX_STALE} 条时才批量移除一次。
+ * <pre>
+ * AndroidTick timeout = new AndroidTick(10_000L, TimingWheelScheduler.getMain()) { ... };
+ * </pre>
+ * 精度为 tickMillis：动作最多晚一个 tick 触发，不会提前触发。
+ */
+public final class TimingWheelScheduler implements TickScheduler {
+    private static final int MSG = 1;
+    private static final long NOT_ARMED = Long.MAX_VALUE;
+    private static final long DEFAULT_TICK_MILLIS = 10L;
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private static volatile TimingWheelScheduler sMain;
+
+    private final long mTickMillis;
+    private final int mMask;
+    private final WheelEntry[] mBuckets;
+    // 每个桶一位，非空的桶置位
+    private final long[] mOccupied;
+    // 截止时间超过一圈的 Entry，按截止 tick 排序
+    private final DeadlineQueue<WheelEntry> mOverflow = new DeadlineQueue<>();
+    private final long mStartTime;
+    private final Handler mHandler;
+    // 仅在 Looper 线程上使用，复用以避免每次派发分配
+    private final ArrayList<WheelEntry> mDueBatch = new ArrayList<>();
+    private int mSize = 0;
+    // 已处理到的 tick 序号（不含）；轮上的截止 tick 都在 [mCursor, mCursor + mMask] 之内
+    private long mCursor = 1;
+    private long mArmedTick = NOT_ARMED;
+    // 每发一条消息递增，消息以 arg1 携带，与之不等的是被替换的旧消息
+    private int mArmGeneration = 0;
+    // 仍在队列中的旧消息数
+    private int mStale = 0;
+
+    /**
+     * 绑定主线程的共享实例：tick 10ms，512 个桶（一圈 5.12s）。
+     */
+    @NonNull
+    public static TimingWheelScheduler getMain() {
+        TimingWheelScheduler main = sMain;
+        if (main == null) {
+            synchronized (TimingWheelScheduler.class) {
+                main = sMain;
+                if (main == null) {
+                    main = new TimingWheelScheduler(Looper.getMainLooper(), DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+                    sMain = main;
+                }
+            }
+        }
+        return main;
+    }
+
+    /**
+     * @param tickMillis 时间轮精度，必须大于0
+     * @param wheelSize  桶数量，向上取整为 2 的幂
+     */
+    public TimingWheelScheduler(@NonNull Looper looper, long tickMillis, int wheelSize) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("时间轮精度必须大于0");
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("时间轮桶数量必须在 1 到 2^30 之间");
+        }
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        mTickMillis = tickMillis;
+        mMask = size - 1;
+        mBuckets = new WheelEntry[size];
+        mOccupied = new long[(size + 63) >>> 6];
+        mStartTime = SystemClock.uptimeMillis();
+        mHandler = new Handler(looper, new Handler.Callback() {
+            @Override
+            public boolean handleMessage(@NonNull Message msg) {
+                advance(msg.arg1);
+                return true;
+            }
+        });
+    }
+
+    @NonNull
+    @Override
+    public Entry newEntry(@NonNull Runnable action) {
+        return new WheelEntry(action);
+    }
+
+    public long getTickMillis() {
+        return mTickMillis;
+    }
+
+    /**
+     * 当前挂在时间轮上的 Entry 数量，包括超过一圈、暂存在堆中的。
+     */
+    public synchronized int size() {
+        return mSize;
+    }
+
+    private long currentTick(long now) {
+        return (now - mStartTime) / mTickMillis;
+    }
+
+    private void advance(int generation) {
+        final long nowTick = currentTick(SystemClock.uptimeMillis());
+        synchronized (this) {
+            if (generation != mArmGeneration) {
+                // 被更早的消息替换下来的旧消息；有效消息总是指向最早的截止时间，这里不会有到期项
+                mStale--;
+                return;
+            }
+            mArmedTick = NOT_ARMED;
+            // 进入一圈之内的远期 Entry 移到轮上，已到期的随后一并收集
+            WheelEntry far;
+            while ((far = mOverflow.peek()) != null && far.deadline <= nowTick + mMask) {
+                mOverflow.poll();
+                linkBucketLocked(far);
+            }
+            // 落后超过一圈时，每个桶扫一遍即可覆盖全部到期项
+            long from = Math.max(mCursor, nowTick - mMask);
+            for (long tick = from; tick <= nowTick && mSize > 0; tick++) {
+                collectDueLocked((int) (tick & mMask), nowTick);
+            }
+            mCursor = nowTick + 1;
+            armLocked();
+        }
+        // 动作在锁外执行：回调可能重新调度或取消同一批次中尚未执行的 Entry
+        for (int i = 0, size = mDueBatch.size(); i < size; i++) {
+            WheelEntry entry = mDueBatch.get(i);
+            if (entry.mDue) {
+                entry.mDue = false;
+                entry.mAction.run();
+            }
+        }
+        mDueBatch.clear();
+    }
+
+    private void collectDueLocked(int bucket, long nowTick) {
+        WheelEntry entry = mBuckets[bucket];
+        while (entry != null) {
+            WheelEntry next = entry.mNext;
+            if (entry.deadline <= nowTick) {
+                unlinkLocked(entry);
+                entry.mDue = true;
+                mDueBatch.add(entry);
+            }
+            entry = next;
+        }
+    }
+
+    /**
+     * 为最早的截止时间布置消息：轮上从游标所在的桶起查位图找到第一个非空桶，再与堆顶的远期截止时间比较。
+     * 被取消的 Entry 不撤销消息，届时空转一次即可。
+     */
+    private void armLocked() {
+        if (mSize == 0) {
+            return;
+        }
+        long next = NOT_ARMED;
+        final int cursorBucket = (int) (mCursor & mMask);
+        final int bucket = nextOccupiedLocked(cursorBucket);
+        if (bucket >= 0) {
+            next = mCursor + ((bucket - cursorBucket) & mMask);
+        }
+        WheelEntry far = mOverflow.peek();
+        if (far != null && far.deadline < next) {
+            next = far.deadline;
+        }
+        armLocked(next);
+    }
+
+    /**
+     * 仅当新的截止 tick 早于已布置的消息时才补发一条更早的消息，旧消息留在队列中由代数识别。
+     */
+    private void armLocked(long tick) {
+        if (tick >= mArmedTick) {
+            return;
+        }
+        if (mArmedTick != NOT_ARMED && ++mStale > HandlerTickScheduler.MAX_STALE) {
+            mHandler.removeMessages(MSG);
+            mStale = 0;
+        }
+        mArmedTick = tick;
+        mArmGeneration++;
+        mHandler.sendMessageAtTime(mHandler.obtainMessage(MSG, mArmGeneration, 0), mStartTime + tick * mTickMillis);
+    }
+
+    /**
+     * 从 from 开始（含）环形查找第一个非空桶，全部为空时返回 -1。
+     */
+    private int nextOccupiedLocked(int from) {
+        final int words = mOccupied.length;
+        int word = from >>> 6;
+        long bits = mOccupied[word] & (-1L << (from & 63));
+        // 多查一次起始字，覆盖绕回后位于 from 之前的桶
+        for (int i = 0; i <= words; i++) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            word = word + 1 == words ? 0 : word + 1;
+            bits = mOccupied[word];
+        }
+        return -1;
+    }
+
+    private void linkLocked(WheelEntry entry, long deadlineTick) {
+        entry.deadline = deadlineTick;
+        mSize++;
+        if (deadlineTick - mCursor > mMask) {
+            mOverflow.add(entry);
+        } else {
+            linkBucketLocked(entry);
+        }
+    }
+
+    private void linkBucketLocked(WheelEntry entry) {
+        int bucket = (int) (entry.deadline & mMask);
+        entry.mBucket = bucket;
+        entry.mPrev = null;
+        entry.mNext = mBuckets[bucket];
+        if (entry.mNext != null) {
+            entry.mNext.mPrev = entry;
+        } else {
+            mOccupied[bucket >>> 6] |= 1L << bucket;
+        }
+        mBuckets[bucket] = entry;
+    }
+
+    private void unlinkLocked(WheelEntry entry) {
+        if (entry.isQueued()) {
+            mOverflow.remove(entry);
+            mSize--;
+            return;
+        }
+        if (entry.mBucket < 0) {
+            return;
+        }
+        if (entry.mPrev != null) {
+            entry.mPrev.mNext = entry.mNext;
+        } else {
+            mBuckets[entry.mBucket] = entry.mNext;
+            if (entry.mNext == null) {
+                mOccupied[entry.mBucket >>> 6] &= ~(1L << entry.mBucket);
+            }
+        }
+        if (entry.mNext != null) {
+            entry.mNext.mPrev = entry.mPrev;
+        }
+        entry.mPrev = null;
+        entry.mNext = null;
+        entry.mBucket = -1;
+        mSize--;
+    }
+
+    /**
+     * deadline 为截止 tick；在轮上时 mBucket 为所在的桶，在远期堆中时 isQueued() 为 true。
+     */
+    private final class WheelEntry extends DeadlineQueue.Node implements Entry {
+        private final Runnable mAction;
+        private WheelEntry mPrev;
+        private WheelEntry mNext;
+        private int mBucket = -1;
+        // 已摘下、等待本批次执行；被 cancel/schedule 清除
+        volatile boolean mDue = false;
+
+        WheelEntry(Runnable action) {
+            mAction = action;
+        }
+
+        @Override
+        public void schedule(long delayMillis) {
+            final long now = SystemClock.uptimeMillis();
+            synchronized (TimingWheelScheduler.this) {
+                mDue = false;
+                unlinkLocked(this);
+                if (mSize == 0) {
+                    // 空轮无需回放空闲期间的桶，游标直接跟上当前时间
+                    mCursor = Math.max(mCursor, currentTick(now));
+                }
+                // 向上取整到 tick 边界，保证不提前触发；已处理过的 tick 不再回头
+                long deadlineTick = currentTick(now + Math.max(0, delayMillis) + mTickMillis - 1);
+                deadlineTick = Math.max(deadlineTick, mCursor);
+                linkLocked(this, deadlineTick);
+                armLocked(deadlineTick);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (TimingWheelScheduler.this) {
+                mDue = false;
+                unlinkLocked(this);
+            }
+        }
+
+        @Nullable
+        @Override
+        public Thread getDispatchThread() {
+            return mHandler.getLooper().getThread();
+        }
+    }
+}
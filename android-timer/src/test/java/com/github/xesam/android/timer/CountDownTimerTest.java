@@ -1,5 +1,7 @@
 package com.github.xesam.android.timer;
 
+import android.os.Handler;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -8,6 +10,11 @@ import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.LooperMode;
 import org.robolectric.shadows.ShadowLooper;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.Assert.*;
 
 @RunWith(RobolectricTestRunner.class)
@@ -239,6 +246,34 @@ public class CountDownTimerTest {
 
 
 
+    @Test
+    public void testPoolRebind_shouldReuseEntryAndHandler() {
+        final List<TickScheduler.Entry> entries = new ArrayList<>();
+        final CountDownTimer.Option option = new CountDownTimer.Option.Builder().setScheduler(action -> {
+            TickScheduler.Entry entry = HandlerTickScheduler.currentThread().newEntry(action);
+            entries.add(entry);
+            return entry;
+        }).build();
+        CountDownTimerPool<CountDownTimer> pool = new CountDownTimerPool<>(2,
+                (millisDuration, interval) -> new CountDownTimer(millisDuration, interval, option));
+
+        CountDownTimer first = pool.acquire(10_000L, 1000L);
+        first.start();
+        ShadowLooper.idleMainLooper(1500L, TimeUnit.MILLISECONDS);
+        List<Handler> targets = HandlerTickSchedulerTest.queuedTargets();
+        assertEquals(1, targets.size());
+        Handler handler = targets.get(0);
+        pool.release(first);
+
+        CountDownTimer second = pool.acquire(5000L, 1000L);
+        assertSame(first, second);
+        second.start();
+        assertEquals(1, entries.size());
+        // 过期消息与新的 tick 消息指向同一个 Handler
+        assertEquals(Arrays.asList(handler, handler), HandlerTickSchedulerTest.queuedTargets());
+        pool.release(second);
+    }
+
     @Test
     public void testLifecycleSequence_shouldWorkCorrectly() {
         TestCountDownTimer timer = new TestCountDownTimer(10L, 1L);
@@ -0,0 +1,92 @@
+package com.github.xesam.android.timer;
+
+import android.view.Choreographer;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.LooperMode;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class FrameTickSchedulerTest {
+
+    private FrameTickScheduler newScheduler() {
+        return new FrameTickScheduler(Choreographer.getInstance());
+    }
+
+    @Test
+    public void testEntries_shouldFireOnFirstFrameAfterDeadline() {
+        FrameTickScheduler scheduler = newScheduler();
+        final List<Integer> fired = new ArrayList<>();
+        scheduler.newEntry(() -> fired.add(200)).schedule(200L);
+        scheduler.newEntry(() -> fired.add(100)).schedule(100L);
+        assertEquals(2, scheduler.size());
+
+        ShadowLooper.idleMainLooper(99L, TimeUnit.MILLISECONDS);
+        assertEquals(0, fired.size());
+
+        // 截止时间之后的下一帧触发
+        ShadowLooper.idleMainLooper(50L, TimeUnit.MILLISECONDS);
+        assertEquals(1, fired.size());
+        assertEquals(Integer.valueOf(100), fired.get(0));
+
+        ShadowLooper.idleMainLooper(100L, TimeUnit.MILLISECONDS);
+        assertEquals(2, fired.size());
+        assertEquals(Integer.valueOf(200), fired.get(1));
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void testCancelAndReschedule_shouldOnlyFireLatest() {
+        FrameTickScheduler scheduler = newScheduler();
+        final int[] count = {0};
+        TickScheduler.Entry cancelled = scheduler.newEntry(() -> count[0] += 100);
+        cancelled.schedule(50L);
+        cancelled.cancel();
+
+        TickScheduler.Entry entry = scheduler.newEntry(() -> count[0]++);
+        entry.schedule(500L);
+        entry.schedule(50L); // 截止时间提前，替换已挂出的帧回调
+        assertEquals(1, scheduler.size());
+
+        ShadowLooper.idleMainLooper(100L, TimeUnit.MILLISECONDS);
+        assertEquals(1, count[0]);
+        ShadowLooper.idleMainLooper(1, TimeUnit.SECONDS);
+        assertEquals(1, count[0]);
+    }
+
+    @Test
+    public void testCountDownTimer_shouldTickOnFrames() {
+        FrameTickScheduler scheduler = newScheduler();
+        final List<Long> ticks = new ArrayList<>();
+        final int[] finishes = {0};
+        CountDownTimer timer = new CountDownTimer(1000L, 250L, new CountDownTimer.Option(false, false, scheduler)) {
+            @Override
+            protected void onTick(long millisUntilFinished) {
+                ticks.add(millisUntilFinished);
+            }
+
+            @Override
+            protected void onFinish(long millisDuration) {
+                finishes[0]++;
+            }
+        };
+        timer.start();
+        ShadowLooper.idleMainLooper(2, TimeUnit.SECONDS);
+        assertEquals(1, finishes[0]);
+        assertEquals(3, ticks.size());
+        for (long left : ticks) {
+            // 帧对齐只会推迟 tick，不会提前
+            assertTrue(left <= 750L);
+        }
+        assertEquals(0, scheduler.size());
+    }
+}
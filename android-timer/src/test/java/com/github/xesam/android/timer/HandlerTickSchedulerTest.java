@@ -0,0 +1,258 @@
+package com.github.xesam.android.timer;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.LooperMode;
+import org.robolectric.shadows.ShadowLooper;
+import org.robolectric.util.ReflectionHelpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class HandlerTickSchedulerTest {
+
+    @Test
+    public void testAndroidPlatform_shouldBeDiscovered() {
+        assertTrue(TimerPlatform.get() instanceof AndroidTimerPlatform);
+        assertSame(HandlerTickScheduler.currentThread(), TimerPlatform.get().defaultScheduler());
+        assertSame(SystemClockTimeSource.ELAPSED_REALTIME, TimerPlatform.get().defaultTimeSource());
+        assertSame(HandlerTickScheduler.currentThreadAsync(), TimerPlatform.get().defaultScheduler(true));
+    }
+
+    @Test
+    public void testTimerCreatedOnThreadWithoutLooper_shouldTickOnGivenLooper() throws Exception {
+        final HandlerTickScheduler scheduler = new HandlerTickScheduler(Looper.getMainLooper());
+        final List<Thread> tickThreads = new ArrayList<>();
+        final AtomicReference<AndroidTimer> ref = new AtomicReference<>();
+        Thread worker = new Thread(() -> {
+            AndroidTimer timer = new AndroidTimer(100L, new AndroidTimer.Option(false, scheduler)) {
+                @Override
+                protected void onTick(long millisFly) {
+                    tickThreads.add(Thread.currentThread());
+                }
+            };
+            timer.start();
+            ref.set(timer);
+        });
+        worker.start();
+        worker.join();
+        assertNotNull(ref.get());
+
+        ShadowLooper.idleMainLooper(350L, TimeUnit.MILLISECONDS);
+        assertEquals(3, tickThreads.size());
+        assertSame(Looper.getMainLooper().getThread(), tickThreads.get(0));
+        ref.get().cancel();
+    }
+
+    @Test
+    public void testSharedHandler_shouldOnlyRemoveOwnMessages() {
+        HandlerTickScheduler scheduler = new HandlerTickScheduler(new Handler(Looper.getMainLooper()));
+        final List<Integer> fired = new ArrayList<>();
+        TickScheduler.Entry first = scheduler.newEntry(() -> fired.add(1));
+        TickScheduler.Entry second = scheduler.newEntry(() -> fired.add(2));
+        first.schedule(10L);
+        second.schedule(20L);
+        first.cancel();
+        second.schedule(5L);
+
+        ShadowLooper.idleMainLooper(50L, TimeUnit.MILLISECONDS);
+        assertEquals(1, fired.size());
+        assertEquals(Integer.valueOf(2), fired.get(0));
+    }
+
+    @Test
+    public void testRepeatedReschedule_shouldOnlyFireLatest() {
+        assertOnlyLatestFires(HandlerTickScheduler.currentThread());
+        assertOnlyLatestFires(new HandlerTickScheduler(new Handler(Looper.getMainLooper())));
+    }
+
+    @Test
+    public void testAsynchronous_shouldMarkMessagesAsync() {
+        final List<Boolean> async = new ArrayList<>();
+        Handler handler = new Handler(Looper.getMainLooper()) {
+            @Override
+            public boolean sendMessageAtTime(@NonNull Message msg, long uptimeMillis) {
+                async.add(msg.isAsynchronous());
+                return super.sendMessageAtTime(msg, uptimeMillis);
+            }
+        };
+        final List<Integer> fired = new ArrayList<>();
+        new HandlerTickScheduler(handler).newEntry(() -> fired.add(1)).schedule(10L);
+        new HandlerTickScheduler(handler, true).newEntry(() -> fired.add(2)).schedule(10L);
+
+        ShadowLooper.idleMainLooper(20L, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(false, true), async);
+        assertEquals(Arrays.asList(1, 2), fired);
+    }
+
+    @Test
+    public void testAsynchronousOption_shouldTickOnCurrentLooper() {
+        final List<Long> ticks = new ArrayList<>();
+        AndroidTimer timer = new AndroidTimer(100L, new AndroidTimer.Option.Builder().setAsynchronous(true).build()) {
+            @Override
+            protected void onTick(long millisFly) {
+                ticks.add(millisFly);
+            }
+        };
+        timer.start();
+        ShadowLooper.idleMainLooper(250L, TimeUnit.MILLISECONDS);
+        assertEquals(Arrays.asList(100L, 200L), ticks);
+        timer.cancel();
+    }
+
+    @Test
+    public void testDefaultScheduler_shouldBindLooperOnFirstStart() throws Exception {
+        final List<Thread> tickThreads = new ArrayList<>();
+        final AtomicReference<AndroidTimer> ref = new AtomicReference<>();
+        Thread worker = new Thread(() -> ref.set(new AndroidTimer(100L) {
+            @Override
+            protected void onTick(long millisFly) {
+                tickThreads.add(Thread.currentThread());
+            }
+        }));
+        worker.start();
+        worker.join();
+        AndroidTimer timer = ref.get();
+        assertNotNull(timer);
+
+        timer.start();
+        ShadowLooper.idleMainLooper(250L, TimeUnit.MILLISECONDS);
+        assertEquals(2, tickThreads.size());
+        assertSame(Looper.getMainLooper().getThread(), tickThreads.get(0));
+
+        // 取消后释放 Handler，再次启动仍在已绑定的 Looper 上调度
+        timer.cancel();
+        timer.start();
+        ShadowLooper.idleMainLooper(150L, TimeUnit.MILLISECONDS);
+        assertEquals(3, tickThreads.size());
+        timer.cancel();
+    }
+
+    @Test
+    public void testDefaultScheduler_startOnThreadWithoutLooper_shouldThrow() throws Exception {
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread worker = new Thread(() -> {
+            AndroidTick tick = new AndroidTick(100L) {
+                @Override
+                protected void onTick(AndroidTick thisInstance, int count) {
+                }
+            };
+            try {
+                tick.tick();
+            } catch (Throwable e) {
+                error.set(e);
+            }
+        });
+        worker.start();
+        worker.join();
+        assertTrue(error.get() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void testRepeatedStartCancel_shouldBoundQueueDepth() {
+        AndroidTimer timer = new AndroidTimer(1000L);
+        AndroidTick tick = new AndroidTick(1000L) {
+            @Override
+            protected void onTick(AndroidTick thisInstance, int count) {
+            }
+        };
+        for (int i = 0; i < 1000; i++) {
+            timer.start();
+            timer.cancel();
+            tick.tick();
+            tick.cancel();
+        }
+        // 每个 Entry 最多滞留 MAX_STALE + 1 条过期消息
+        assertTrue(drainMainLooper() <= 2 * (HandlerTickScheduler.MAX_STALE + 1));
+    }
+
+    @Test
+    public void testRestartAfterCancel_shouldReuseHandlerUntilDrained() {
+        TickScheduler.Entry entry = HandlerTickScheduler.currentThread().newEntry(() -> {
+        });
+        // 从未调度的 Entry 不投递任何消息
+        assertTrue(queuedTargets().isEmpty());
+        entry.schedule(100L);
+        List<Handler> targets = queuedTargets();
+        assertEquals(1, targets.size());
+        Handler handler = targets.get(0);
+        entry.cancel();
+        entry.schedule(100L);
+        // 过期消息还在队列中，再次调度沿用同一个 Handler
+        assertEquals(Arrays.asList(handler, handler), queuedTargets());
+
+        entry.cancel();
+        assertEquals(2, drainMainLooper());
+        // 过期消息全部到达后 Handler 已释放，再次调度创建新的 Handler
+        entry.schedule(100L);
+        targets = queuedTargets();
+        assertEquals(1, targets.size());
+        assertNotSame(handler, targets.get(0));
+        entry.cancel();
+        drainMainLooper();
+    }
+
+    /**
+     * 主线程消息队列中各条消息的目标 Handler，按派发顺序排列。
+     */
+    static List<Handler> queuedTargets() {
+        List<Handler> targets = new ArrayList<>();
+        Message msg = ReflectionHelpers.getField(Looper.getMainLooper().getQueue(), "mMessages");
+        while (msg != null) {
+            targets.add(msg.getTarget());
+            msg = ReflectionHelpers.getField(msg, "next");
+        }
+        return targets;
+    }
+
+    /**
+     * 逐条执行主线程队列中的消息，返回执行的条数，即调用时的队列深度。
+     */
+    private static int drainMainLooper() {
+        ShadowLooper looper = ShadowLooper.shadowMainLooper();
+        int count = 0;
+        while (!looper.getNextScheduledTaskTime().isZero()) {
+            looper.runOneTask();
+            count++;
+        }
+        return count;
+    }
+
+    private static void assertOnlyLatestFires(HandlerTickScheduler scheduler) {
+        final List<Long> fired = new ArrayList<>();
+        TickScheduler.Entry entry = scheduler.newEntry(() -> fired.add(SystemClock.uptimeMillis()));
+        final long base = SystemClock.uptimeMillis();
+        // 超过 MAX_STALE 次替换，覆盖过期消息早于、晚于当前消息以及批量移除的情况
+        for (int i = 0; i < HandlerTickScheduler.MAX_STALE * 3; i++) {
+            entry.schedule(i % 2 == 0 ? 10L : 200L);
+            if (i % 5 == 0) {
+                entry.cancel();
+            }
+        }
+        entry.schedule(100L);
+
+        ShadowLooper.idleMainLooper(300L, TimeUnit.MILLISECONDS);
+        assertEquals(1, fired.size());
+        assertEquals(base + 100L, (long) fired.get(0));
+
+        entry.schedule(10L);
+        entry.cancel();
+        ShadowLooper.idleMainLooper(300L, TimeUnit.MILLISECONDS);
+        assertEquals(1, fired.size());
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.xesam.android.timer;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.LifecycleRegistry;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.LooperMode;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class LifecycleTickSchedulerTest {
+
+    private static final class TestOwner implements LifecycleOwner {
+        final LifecycleRegistry registry = new LifecycleRegistry(this);
+
+        @NonNull
+        @Override
+        public Lifecycle getLifecycle() {
+            return registry;
+        }
+    }
+
+    @Test
+    public void testStoppedHost_shouldSuspendAndReportRemainingTimeOnReturn() {
+        TestOwner owner = new TestOwner();
+        owner.registry.setCurrentState(Lifecycle.State.RESUMED);
+        LifecycleTickScheduler scheduler = new LifecycleTickScheduler(owner);
+        final List<Long> ticks = new ArrayList<>();
+        CountDownTimer timer = new CountDownTimer(30, 1, TimeUnit.MINUTES, new CountDownTimer.Option.Builder()
+                .setScheduler(scheduler)
+                .build()) {
+            @Override
+            protected void onTick(long millisUntilFinished) {
+                ticks.add(millisUntilFinished);
+            }
+        };
+        timer.start();
+        ShadowLooper.idleMainLooper(2, TimeUnit.MINUTES);
+        assertEquals(2, ticks.size());
+
+        owner.registry.setCurrentState(Lifecycle.State.CREATED);
+        assertTrue(scheduler.isSuspended());
+        // 挂起期间不派发，但截止时间仍被记录
+        ShadowLooper.idleMainLooper(630, TimeUnit.SECONDS);
+        assertEquals(2, ticks.size());
+        assertEquals(1, scheduler.pendingCount());
+        assertEquals(TimerStatus.RUNNING, timer.getState());
+
+        owner.registry.setCurrentState(Lifecycle.State.STARTED);
+        assertFalse(scheduler.isSuspended());
+        ShadowLooper.idleMainLooper();
+        assertEquals(3, ticks.size());
+        // 回到前台立即补一次 tick，剩余时间扣除了后台的 10 分 30 秒
+        assertEquals(TimeUnit.SECONDS.toMillis(17 * 60 + 30), (long) ticks.get(2));
+        timer.cancel();
+    }
+
+    @Test
+    public void testCountDownExpiredInBackground_shouldFinishOnReturn() {
+        TestOwner owner = new TestOwner();
+        owner.registry.setCurrentState(Lifecycle.State.STARTED);
+        LifecycleTickScheduler scheduler = new LifecycleTickScheduler(owner, Lifecycle.State.RESUMED);
+        // 低于 RESUMED，创建时即挂起
+        assertTrue(scheduler.isSuspended());
+        final int[] finishes = {0};
+        CountDownTimer timer = new CountDownTimer(60_000L, 1000L, new CountDownTimer.Option.Builder()
+                .setScheduler(scheduler)
+                .build()) {
+            @Override
+            protected void onFinish(long millisDuration) {
+                finishes[0]++;
+            }
+        };
+        timer.start();
+        ShadowLooper.idleMainLooper(10, TimeUnit.MINUTES);
+        assertEquals(0, finishes[0]);
+
+        owner.registry.setCurrentState(Lifecycle.State.RESUMED);
+        ShadowLooper.idleMainLooper();
+        assertEquals(1, finishes[0]);
+        assertEquals(TimerStatus.IDLE, timer.getState());
+    }
+
+    @Test
+    public void testDestroyedHost_shouldStaySuspended() {
+        TestOwner owner = new TestOwner();
+        owner.registry.setCurrentState(Lifecycle.State.RESUMED);
+        LifecycleTickScheduler scheduler = new LifecycleTickScheduler(owner);
+        final int[] fired = {0};
+        AndroidTick tick = new AndroidTick(1000L, scheduler) {
+            @Override
+            protected void onTick(AndroidTick thisInstance, int count) {
+                fired[0]++;
+            }
+        };
+        tick.tick();
+        owner.registry.setCurrentState(Lifecycle.State.DESTROYED);
+        ShadowLooper.idleMainLooper(5, TimeUnit.SECONDS);
+        assertEquals(0, fired[0]);
+        assertTrue(scheduler.isSuspended());
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.xesam.android.timer;
+
+import android.os.Looper;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.LooperMode;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class SharedTickSchedulerTest {
+
+    @Test
+    public void testEntries_shouldFireInDeadlineOrder() {
+        SharedTickScheduler scheduler = new SharedTickScheduler(Looper.getMainLooper());
+        final List<Integer> fired = new ArrayList<>();
+        TickScheduler.Entry e30 = scheduler.newEntry(() -> fired.add(30));
+        TickScheduler.Entry e10 = scheduler.newEntry(() -> fired.add(10));
+        TickScheduler.Entry e20 = scheduler.newEntry(() -> fired.add(20));
+
+        e30.schedule(30L);
+        e10.schedule(10L);
+        e20.schedule(20L);
+        assertEquals(3, scheduler.size());
+
+        ShadowLooper.idleMainLooper(10L, TimeUnit.MILLISECONDS);
+        assertEquals(1, fired.size());
+
+        ShadowLooper.idleMainLooper(20L, TimeUnit.MILLISECONDS);
+        assertEquals(3, fired.size());
+        assertEquals(Integer.valueOf(10), fired.get(0));
+        assertEquals(Integer.valueOf(20), fired.get(1));
+        assertEquals(Integer.valueOf(30), fired.get(2));
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void testSameDeadline_shouldFireTogether() {
+        SharedTickScheduler scheduler = new SharedTickScheduler(Looper.getMainLooper());
+        final int[] count = {0};
+        for (int i = 0; i < 100; i++) {
+            scheduler.newEntry(() -> count[0]++).schedule(50L);
+        }
+        ShadowLooper.idleMainLooper(49L, TimeUnit.MILLISECONDS);
+        assertEquals(0, count[0]);
+        ShadowLooper.idleMainLooper(1L, TimeUnit.MILLISECONDS);
+        assertEquals(100, count[0]);
+    }
+
+    @Test
+    public void testCancel_shouldNotFire() {
+        SharedTickScheduler scheduler = new SharedTickScheduler(Looper.getMainLooper());
+        final int[] count = {0};
+        TickScheduler.Entry entry = scheduler.newEntry(() -> count[0]++);
+        entry.schedule(10L);
+        entry.cancel();
+        assertEquals(0, scheduler.size());
+
+        ShadowLooper.idleMainLooper(20L, TimeUnit.MILLISECONDS);
+        assertEquals(0, count[0]);
+    }
+
+    @Test
+    public void testReschedule_shouldReplacePendingDeadline() {
+        SharedTickScheduler scheduler = new SharedTickScheduler(Looper.getMainLooper());
+        final int[] count = {0};
+        TickScheduler.Entry entry = scheduler.newEntry(() -> count[0]++);
+        entry.schedule(10L);
+        entry.schedule(30L);
+        assertEquals(1, scheduler.size());
+
+        ShadowLooper.idleMainLooper(20L, TimeUnit.MILLISECONDS);
+        assertEquals(0, count[0]);
+        ShadowLooper.idleMainLooper(10L, TimeUnit.MILLISECONDS);
+        assertEquals(1, count[0]);
+    }
+
+    @Test
+    public void testCancelInSameBatch_shouldSkipCancelledEntry() {
+        SharedTickScheduler scheduler = new SharedTickScheduler(Looper.getMainLooper());
+        final int[] count = {0};
+        final TickScheduler.Entry[] entries = new TickScheduler.Entry[2];
+        // 同一截止时间的两个 Entry，先执行的那个取消另一个
+        entries[0] = scheduler.newEntry(() -> {
+            count[0]++;
+            entries[1].cancel();
+        });
+        entries[1] = scheduler.newEntry(() -> {
+            count[0]++;
+            entries[0].cancel();
+        });
+        entries[0].schedule(10L);
+        entries[1].schedule(10L);
+
+        ShadowLooper.idleMainLooper(10L, TimeUnit.MILLISECONDS);
+        assertEquals(1, count[0]);
+    }
+
+    @Test
+    public void testTimers_shouldTickThroughSharedScheduler() {
+        SharedTickScheduler scheduler = new SharedTickScheduler(Looper.getMainLooper());
+        final int[] ticks = {0};
+        final int[] finishes = {0};
+        List<AndroidTimer> timers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            AndroidTimer timer = new AndroidTimer(10L, new AndroidTimer.Option(false, scheduler)) {
+                @Override
+                protected void onTick(long millisFly) {
+                    ticks[0]++;
+                }
+            };
+            timer.start();
+            timers.add(timer);
+        }
+        CountDownTimer countDown = new CountDownTimer(30L, 10L, new CountDownTimer.Option(false, false, scheduler)) {
+            @Override
+            protected void onFinish(long millisDuration) {
+                finishes[0]++;
+            }
+        };
+        countDown.start();
+
+        ShadowLooper.idleMainLooper(10L, TimeUnit.MILLISECONDS);
+        assertEquals(10, ticks[0]);
+
+        ShadowLooper.idleMainLooper(30L, TimeUnit.MILLISECONDS);
+        assertEquals(40, ticks[0]);
+        assertEquals(1, finishes[0]);
+        assertEquals(TimerStatus.IDLE, countDown.getState());
+
+        for (AndroidTimer timer : timers) {
+            timer.cancel();
+        }
+        assertEquals(0, scheduler.size());
+    }
+
+    @Test
+    public void testAndroidTick_shouldWorkWithSharedScheduler() {
+        SharedTickScheduler scheduler = new SharedTickScheduler(Looper.getMainLooper());
+        final int[] lastCount = {0};
+        AndroidTick tick = new AndroidTick(100L, scheduler) {
+            @Override
+            protected void onTick(AndroidTick thisInstance, int count) {
+                lastCount[0] = count;
+            }
+        };
+        tick.tick();
+        tick.tick(true);
+        assertEquals(1, scheduler.size());
+
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+        assertEquals(1, lastCount[0]);
+        assertFalse(tick.isRunning());
+    }
+}
@@ -0,0 +1,196 @@
+package com.github.xesam.android.timer;
+
+import android.os.Looper;
+import android.os.SystemClock;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.LooperMode;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+@RunWith(RobolectricTestRunner.class)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class TimingWheelSchedulerTest {
+
+    private TimingWheelScheduler newWheel() {
+        return new TimingWheelScheduler(Looper.getMainLooper(), 10L, 8); // 一圈 80ms
+    }
+
+    @Test
+    public void testInvalidArguments_shouldThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheelScheduler(Looper.getMainLooper(), 0L, 8));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheelScheduler(Looper.getMainLooper(), 10L, 0));
+    }
+
+    @Test
+    public void testEntry_shouldFireNotBeforeDelay() {
+        TimingWheelScheduler wheel = newWheel();
+        final int[] count = {0};
+        wheel.newEntry(() -> count[0]++).schedule(25L);
+
+        ShadowLooper.idleMainLooper(24L, TimeUnit.MILLISECONDS);
+        assertEquals(0, count[0]);
+
+        // 向上取整到 tick 边界，最多晚一个 tick
+        ShadowLooper.idleMainLooper(11L, TimeUnit.MILLISECONDS);
+        assertEquals(1, count[0]);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCancel_shouldUnlinkWithoutFiring() {
+        TimingWheelScheduler wheel = newWheel();
+        final int[] count = {0};
+        List<TickScheduler.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            TickScheduler.Entry entry = wheel.newEntry(() -> count[0]++);
+            entry.schedule(50L + i % 30);
+            entries.add(entry);
+        }
+        assertEquals(1000, wheel.size());
+        // 绝大多数超时在到期前被取消
+        for (int i = 0; i < entries.size(); i++) {
+            if (i % 100 != 0) {
+                entries.get(i).cancel();
+            }
+        }
+        assertEquals(10, wheel.size());
+
+        ShadowLooper.idleMainLooper(100L, TimeUnit.MILLISECONDS);
+        assertEquals(10, count[0]);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testDelayLongerThanOneRound_shouldWaitForLaterRound() {
+        TimingWheelScheduler wheel = newWheel();
+        final int[] count = {0};
+        wheel.newEntry(() -> count[0]++).schedule(250L); // 超过 3 圈
+
+        ShadowLooper.idleMainLooper(240L, TimeUnit.MILLISECONDS);
+        assertEquals(0, count[0]);
+
+        ShadowLooper.idleMainLooper(20L, TimeUnit.MILLISECONDS);
+        assertEquals(1, count[0]);
+    }
+
+    @Test
+    public void testDelayLongerThanOneRound_shouldWakeLooperOnce() {
+        TimingWheelScheduler wheel = newWheel();
+        final int[] count = {0};
+        wheel.newEntry(() -> count[0]++).schedule(250L); // 超过 3 圈
+        // 远期截止时间按真实轮次布置，不是每圈唤醒一次
+        assertEquals(1, drainMainLooper());
+        assertEquals(1, count[0]);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testNextBucket_shouldFollowDeadlinesAcrossWrap() {
+        TimingWheelScheduler wheel = newWheel();
+        final List<Long> fired = new ArrayList<>();
+        // 游标先走到轮的后半圈，之后的截止时间绕回到前面的桶
+        wheel.newEntry(() -> {
+        }).schedule(50L);
+        ShadowLooper.idleMainLooper(60L, TimeUnit.MILLISECONDS);
+        final long base = SystemClock.uptimeMillis();
+        for (long delay : new long[]{70L, 15L, 45L, 200L}) {
+            wheel.newEntry(() -> fired.add(SystemClock.uptimeMillis() - base)).schedule(delay);
+        }
+        ShadowLooper.idleMainLooper(300L, TimeUnit.MILLISECONDS);
+        assertEquals(4, fired.size());
+        long previous = 0;
+        long[] expected = {15L, 45L, 70L, 200L};
+        for (int i = 0; i < expected.length; i++) {
+            // 不早于截止时间，最多晚一个 tick
+            assertTrue(fired.get(i) >= expected[i] && fired.get(i) < expected[i] + 10L);
+            assertTrue(fired.get(i) >= previous);
+            previous = fired.get(i);
+        }
+    }
+
+    @Test
+    public void testEarlierDeadlines_shouldBoundQueueDepth() {
+        TimingWheelScheduler wheel = newWheel();
+        List<TickScheduler.Entry> entries = new ArrayList<>();
+        // 每次调度都比已布置的消息更早，不调用 removeMessages，旧消息批量移除
+        for (int i = 0; i < 1000; i++) {
+            TickScheduler.Entry entry = wheel.newEntry(() -> {
+            });
+            entry.schedule(20_000L - i * 10L);
+            entries.add(entry);
+        }
+        for (TickScheduler.Entry entry : entries) {
+            entry.cancel();
+        }
+        assertEquals(0, wheel.size());
+        assertTrue(drainMainLooper() <= HandlerTickScheduler.MAX_STALE + 1);
+    }
+
+    @Test
+    public void testReschedule_shouldMoveEntry() {
+        TimingWheelScheduler wheel = newWheel();
+        final int[] count = {0};
+        TickScheduler.Entry entry = wheel.newEntry(() -> count[0]++);
+        entry.schedule(100L);
+        entry.schedule(10L);
+        assertEquals(1, wheel.size());
+
+        ShadowLooper.idleMainLooper(20L, TimeUnit.MILLISECONDS);
+        assertEquals(1, count[0]);
+
+        ShadowLooper.idleMainLooper(100L, TimeUnit.MILLISECONDS);
+        assertEquals(1, count[0]);
+    }
+
+    @Test
+    public void testAndroidTick_shouldKeepContractOnWheel() {
+        TimingWheelScheduler wheel = newWheel();
+        final List<Integer> counts = new ArrayList<>();
+        AndroidTick tick = new AndroidTick(30L, wheel) {
+            @Override
+            protected void onTick(AndroidTick thisInstance, int count) {
+                counts.add(count);
+            }
+        };
+
+        tick.tick();
+        tick.tick(); // 已有待执行任务，忽略
+        assertEquals(1, wheel.size());
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+        assertEquals(1, counts.size());
+
+        tick.tick();
+        tick.cancel();
+        assertFalse(tick.isRunning());
+        assertEquals(0, wheel.size());
+        ShadowLooper.idleMainLooper(100L, TimeUnit.MILLISECONDS);
+        assertEquals(1, counts.size());
+
+        tick.tick();
+        tick.tick(true);
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+        assertEquals(2, counts.size());
+        assertEquals(Integer.valueOf(2), counts.get(1));
+    }
+
+    /**
+     * 逐条执行主线程队列中的消息，返回执行的条数。
+     */
+    private static int drainMainLooper() {
+        ShadowLooper looper = ShadowLooper.shadowMainLooper();
+        int count = 0;
+        while (!looper.getNextScheduledTaskTime().isZero()) {
+            looper.runOneTask();
+            count++;
+        }
+        return count;
+    }
+}